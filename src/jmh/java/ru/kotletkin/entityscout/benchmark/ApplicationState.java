@@ -0,0 +1,44 @@
+package ru.kotletkin.entityscout.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.kotletkin.entityscout.EntityscoutApplication;
+import ru.kotletkin.entityscout.document.DocumentService;
+import ru.kotletkin.entityscout.language.LanguageService;
+import ru.kotletkin.entityscout.search.SearchService;
+
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    private static final String[] APPLICATION_ARGUMENTS = {
+            "--spring.main.web-application-type=none",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN",
+            "--entityscout.extraction.cache.enabled=false",
+            "--entityscout.tika.fork.enabled=false"
+    };
+
+    private ConfigurableApplicationContext applicationContext;
+
+    DocumentService documentService;
+    SearchService searchService;
+    LanguageService languageService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        applicationContext = SpringApplication.run(EntityscoutApplication.class, APPLICATION_ARGUMENTS);
+        documentService = applicationContext.getBean(DocumentService.class);
+        searchService = applicationContext.getBean(SearchService.class);
+        languageService = applicationContext.getBean(LanguageService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        applicationContext.close();
+    }
+}
@@ -0,0 +1,163 @@
+package ru.kotletkin.entityscout.benchmark;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+final class Corpus {
+
+    static final long SEED = 20261018L;
+
+    private static final String[] ENGLISH_WORDS = {
+            "meeting", "agenda", "quarterly", "report", "please", "join", "the", "call", "tomorrow", "at",
+            "review", "attached", "document", "budget", "project", "team", "update", "schedule", "invite", "link",
+            "customer", "contract", "deadline", "summary", "notes", "question", "answer", "regards", "thanks", "and"
+    };
+    private static final String[] RUSSIAN_WORDS = {
+            "встреча", "повестка", "отчёт", "пожалуйста", "подключайтесь", "завтра", "в", "проект", "команда",
+            "документ", "бюджет", "договор", "срок", "вопрос", "ответ", "спасибо", "ссылка", "расписание", "и", "по"
+    };
+    private static final String[] CONFERENCE_URLS = {
+            "https://us04web.zoom.us/j/74102938475?pwd=Qm9vZ2xl",
+            "https://teams.microsoft.com/l/meetup-join/19%3ameeting_abc",
+            "https://meet.google.com/abc-defg-hij",
+            "https://company.webex.com/meet/j.doe",
+            "https://meet.jit.si/EntityScoutDaily"
+    };
+    private static final int LINES_PER_PAGE = 45;
+    private static final String CRLF = "\r\n";
+
+    private Corpus() {
+    }
+
+    static String englishText(int words, long seed) {
+        return text(ENGLISH_WORDS, words, seed);
+    }
+
+    static String russianText(int words, long seed) {
+        return text(RUSSIAN_WORDS, words, seed);
+    }
+
+    static String messageWithUrls(int words, long seed) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(englishText(words, seed));
+        for (int i = 0; i < 3; i++) {
+            builder.append('\n').append(CONFERENCE_URLS[random.nextInt(CONFERENCE_URLS.length)]);
+        }
+        return builder.append('\n').append(englishText(words / 4, seed + 1)).toString();
+    }
+
+    static List<String> lines(String text, int wordsPerLine) {
+        String[] words = text.split(" ");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < words.length; i += wordsPerLine) {
+            lines.add(String.join(" ", Arrays.copyOfRange(words, i, Math.min(words.length, i + wordsPerLine))));
+        }
+        return lines;
+    }
+
+    static byte[] pdf(int pages, long seed) throws IOException {
+        List<String> lines = lines(messageWithUrls(pages * LINES_PER_PAGE * 10, seed).replaceAll("\\s+", " "), 10);
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int page = 0; page < pages; page++) {
+                PDPage pdPage = new PDPage();
+                document.addPage(pdPage);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, pdPage)) {
+                    contentStream.beginText();
+                    contentStream.setFont(font, 10);
+                    contentStream.setLeading(14);
+                    contentStream.newLineAtOffset(50, 750);
+                    int from = page * LINES_PER_PAGE;
+                    for (String line : lines.subList(from, Math.min(lines.size(), from + LINES_PER_PAGE))) {
+                        contentStream.showText(line);
+                        contentStream.newLine();
+                    }
+                    contentStream.endText();
+                }
+            }
+            document.save(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+    static byte[] docx(int paragraphs, long seed) throws IOException {
+        try (XWPFDocument document = new XWPFDocument();
+             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            for (int i = 0; i < paragraphs; i++) {
+                String text = i % 2 == 0 ? englishText(60, seed + i) : russianText(60, seed + i);
+                document.createParagraph().createRun().setText(text);
+            }
+            document.createParagraph().createRun().setText(CONFERENCE_URLS[(int) (seed % CONFERENCE_URLS.length)]);
+            document.write(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+    static byte[] rfc822(long seed) throws IOException {
+        String nested = message("Fwd: project notes", "nested-" + seed,
+                russianText(200, seed + 2),
+                List.of(new Attachment("notes.docx",
+                        "application/vnd.openxmlformats-officedocument.wordprocessingml.document", docx(20, seed + 3))));
+        String outer = message("Quarterly report", "outer-" + seed,
+                messageWithUrls(300, seed),
+                List.of(new Attachment("report.pdf", "application/pdf", pdf(5, seed + 1)),
+                        new Attachment("forwarded.eml", "message/rfc822", nested.getBytes(StandardCharsets.UTF_8))));
+        return outer.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String message(String subject, String boundary, String body, List<Attachment> attachments) {
+        StringBuilder builder = new StringBuilder()
+                .append("From: Entity Scout <scout@example.com>").append(CRLF)
+                .append("To: Team <team@example.com>").append(CRLF)
+                .append("Subject: ").append(subject).append(CRLF)
+                .append("Date: Mon, 05 Oct 2026 10:00:00 +0000").append(CRLF)
+                .append("Message-ID: <").append(boundary).append("@example.com>").append(CRLF)
+                .append("MIME-Version: 1.0").append(CRLF)
+                .append("Content-Type: multipart/mixed; boundary=\"").append(boundary).append('"').append(CRLF)
+                .append(CRLF)
+                .append("--").append(boundary).append(CRLF)
+                .append("Content-Type: text/plain; charset=UTF-8").append(CRLF)
+                .append("Content-Transfer-Encoding: 8bit").append(CRLF)
+                .append(CRLF)
+                .append(body.replace("\n", CRLF)).append(CRLF);
+
+        for (Attachment attachment : attachments) {
+            builder.append("--").append(boundary).append(CRLF)
+                    .append("Content-Type: ").append(attachment.contentType()).append("; name=\"").append(attachment.filename()).append('"').append(CRLF)
+                    .append("Content-Disposition: attachment; filename=\"").append(attachment.filename()).append('"').append(CRLF)
+                    .append("Content-Transfer-Encoding: base64").append(CRLF)
+                    .append(CRLF)
+                    .append(Base64.getMimeEncoder().encodeToString(attachment.content())).append(CRLF);
+        }
+        return builder.append("--").append(boundary).append("--").append(CRLF).toString();
+    }
+
+    private static String text(String[] dictionary, int words, long seed) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(i % 17 == 0 ? "\n\t" : " ");
+            }
+            builder.append(dictionary[random.nextInt(dictionary.length)]);
+        }
+        return builder.toString();
+    }
+
+    private record Attachment(String filename, String contentType, byte[] content) {
+    }
+}
@@ -0,0 +1,62 @@
+package ru.kotletkin.entityscout.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.kotletkin.entityscout.document.dto.DocumentInfo;
+import ru.kotletkin.entityscout.document.dto.DocumentType;
+import ru.kotletkin.entityscout.document.model.ExtractionOptions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ExtractionBenchmark {
+
+    @Param({"PDF", "DOCX", "RFC822"})
+    private String format;
+
+    private byte[] document;
+    private String filename;
+
+    @Setup(Level.Trial)
+    public void generateDocument() throws IOException {
+        switch (format) {
+            case "PDF" -> {
+                document = Corpus.pdf(20, Corpus.SEED);
+                filename = "report.pdf";
+            }
+            case "DOCX" -> {
+                document = Corpus.docx(200, Corpus.SEED);
+                filename = "notes.docx";
+            }
+            case "RFC822" -> {
+                document = Corpus.rfc822(Corpus.SEED);
+                filename = "message.eml";
+            }
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        }
+    }
+
+    @Benchmark
+    public List<DocumentInfo> extractDocumentsAuto(ApplicationState applicationState) {
+        return applicationState.documentService.extractDocumentsAuto(
+                new ByteArrayInputStream(document), filename, DocumentType.AUTO, true, ExtractionOptions.ALL);
+    }
+}
@@ -0,0 +1,55 @@
+package ru.kotletkin.entityscout.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.kotletkin.entityscout.language.dto.LanguageDetectionDTO;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class LanguageBenchmark {
+
+    @Param({"50", "100000"})
+    private int words;
+
+    private String text;
+
+    @Setup(Level.Trial)
+    public void generateText() {
+        text = Corpus.russianText(words, Corpus.SEED);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public LanguageDetectionDTO detectLanguageSingleThread(ApplicationState applicationState) {
+        return applicationState.languageService.detectLanguage(text);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public LanguageDetectionDTO detectLanguageAllThreads(ApplicationState applicationState) {
+        return applicationState.languageService.detectLanguage(text);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public LanguageDetectionDTO detectLanguageSampledAllThreads(ApplicationState applicationState) {
+        return applicationState.languageService.detectLanguageSampled(text);
+    }
+}
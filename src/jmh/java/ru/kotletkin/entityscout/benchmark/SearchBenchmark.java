@@ -0,0 +1,50 @@
+package ru.kotletkin.entityscout.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.kotletkin.entityscout.search.dto.SearchBatchDTO;
+import ru.kotletkin.entityscout.search.dto.SearchSingleDTO;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    private static final String URL_QUERY = "/(.+\\.)?zoom\\.us/ OR teams.microsoft.com OR meet.google.com "
+            + "OR /(.+\\.)?webex\\.com/ OR meet.jit.si OR whereby.com OR join.me";
+
+    @Param({"100", "10000"})
+    private int words;
+
+    private String text;
+
+    @Setup(Level.Trial)
+    public void generateText() {
+        text = Corpus.messageWithUrls(words, Corpus.SEED);
+    }
+
+    @Benchmark
+    public SearchSingleDTO searchBySingleRequest(ApplicationState applicationState) {
+        return applicationState.searchService.searchBySingleRequest(text, URL_QUERY);
+    }
+
+    @Benchmark
+    public SearchBatchDTO searchByRegisteredQueries(ApplicationState applicationState) {
+        return applicationState.searchService.searchByRegisteredQueries(text);
+    }
+}
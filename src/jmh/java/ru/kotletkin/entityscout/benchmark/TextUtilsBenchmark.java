@@ -0,0 +1,49 @@
+package ru.kotletkin.entityscout.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.kotletkin.entityscout.common.util.TextUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class TextUtilsBenchmark {
+
+    private static final Pattern REGEX_BASELINE_PATTERN = Pattern.compile("[\n\r\t ]+");
+
+    @Param({"1000", "1000000"})
+    private int words;
+
+    private String text;
+
+    @Setup(Level.Trial)
+    public void generateText() {
+        text = "\n  " + Corpus.englishText(words, Corpus.SEED) + " \r\n";
+    }
+
+    @Benchmark
+    public String clean() {
+        return TextUtils.clean(text);
+    }
+
+    @Benchmark
+    public String cleanRegexBaseline() {
+        return REGEX_BASELINE_PATTERN.matcher(text).replaceAll(" ").trim();
+    }
+}
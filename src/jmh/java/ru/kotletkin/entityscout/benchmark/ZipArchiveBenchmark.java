@@ -0,0 +1,97 @@
+package ru.kotletkin.entityscout.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.kotletkin.entityscout.document.attachment.SpooledAttachment;
+import ru.kotletkin.entityscout.document.attachment.ZipAttachmentSink;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipOutputStream;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ZipArchiveBenchmark {
+
+    private static final int ATTACHMENT_COUNT = 20;
+
+    @Param({"65536", "4194304"})
+    private int attachmentSize;
+
+    private byte[] attachment;
+    private Path spoolDirectory;
+    private SpooledAttachment memoryAttachment;
+    private SpooledAttachment fileAttachment;
+
+    @Setup(Level.Trial)
+    public void generateAttachments() throws IOException {
+        attachment = new byte[attachmentSize];
+        new Random(Corpus.SEED).nextBytes(attachment);
+        spoolDirectory = Files.createTempDirectory("entityscout-benchmark");
+        memoryAttachment = spool(Integer.MAX_VALUE);
+        fileAttachment = spool(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteAttachments() throws IOException {
+        memoryAttachment.close();
+        fileAttachment.close();
+        Files.deleteIfExists(spoolDirectory);
+    }
+
+    @Benchmark
+    public void writeEntriesFromStream() throws IOException {
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(OutputStream.nullOutputStream())) {
+            ZipAttachmentSink attachmentSink = new ZipAttachmentSink(zipOutputStream);
+            for (int i = 0; i < ATTACHMENT_COUNT; i++) {
+                attachmentSink.write(attachmentSink.reserve("attachment.bin"), new ByteArrayInputStream(attachment));
+            }
+        }
+    }
+
+    @Benchmark
+    public void writeEntriesFromMemory() throws IOException {
+        writeSpooledEntries(memoryAttachment);
+    }
+
+    @Benchmark
+    public void writeEntriesFromFile() throws IOException {
+        writeSpooledEntries(fileAttachment);
+    }
+
+    private void writeSpooledEntries(SpooledAttachment spooledAttachment) throws IOException {
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(OutputStream.nullOutputStream())) {
+            ZipAttachmentSink attachmentSink = new ZipAttachmentSink(zipOutputStream);
+            for (int i = 0; i < ATTACHMENT_COUNT; i++) {
+                attachmentSink.write(attachmentSink.reserve("attachment.bin"), spooledAttachment);
+            }
+        }
+    }
+
+    private SpooledAttachment spool(int memoryThreshold) throws IOException {
+        try (SpooledAttachment.Writer writer = new SpooledAttachment.Writer(memoryThreshold, spoolDirectory)) {
+            writer.write(attachment);
+            return writer.toAttachment();
+        }
+    }
+}
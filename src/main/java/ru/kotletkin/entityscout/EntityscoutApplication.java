@@ -2,8 +2,10 @@ package ru.kotletkin.entityscout;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class EntityscoutApplication {
 
     static void main(String[] args) {
@@ -0,0 +1,27 @@
+package ru.kotletkin.entityscout.common.util;
+
+import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+@RequiredArgsConstructor
+public class NdjsonWriter {
+
+    private static final int LINE_SEPARATOR = '\n';
+
+    private final OutputStream outputStream;
+    private final JsonMapper jsonMapper;
+
+    public synchronized void write(Object value) {
+        try {
+            outputStream.write(jsonMapper.writeValueAsBytes(value));
+            outputStream.write(LINE_SEPARATOR);
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
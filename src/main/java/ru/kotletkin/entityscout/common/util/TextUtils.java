@@ -3,16 +3,59 @@ package ru.kotletkin.entityscout.common.util;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
-import java.util.regex.Pattern;
-
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class TextUtils {
 
-    private static final Pattern CLEAR_TEXT_PATTERN = Pattern.compile("[\n\r\t ]+");
+    private static final char SPACE = ' ';
 
     public static String clean(String text) {
         if (text == null || text.isEmpty()) return "";
-        text = CLEAR_TEXT_PATTERN.matcher(text).replaceAll(" ");
-        return text.trim();
+
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= SPACE) start++;
+        while (end > start && text.charAt(end - 1) <= SPACE) end--;
+
+        if (start == end) return "";
+        if (isClean(text, start, end)) {
+            return start == 0 && end == text.length() ? text : text.substring(start, end);
+        }
+
+        char[] buffer = new char[end - start];
+        int length = 0;
+        boolean isPreviousSpace = false;
+        for (int i = start; i < end; i++) {
+            char ch = text.charAt(i);
+            if (isCollapsible(ch)) {
+                if (!isPreviousSpace) {
+                    buffer[length++] = SPACE;
+                    isPreviousSpace = true;
+                }
+            } else {
+                buffer[length++] = ch;
+                isPreviousSpace = false;
+            }
+        }
+        return new String(buffer, 0, length);
+    }
+
+    private static boolean isClean(String text, int start, int end) {
+        boolean isPreviousSpace = false;
+        for (int i = start; i < end; i++) {
+            char ch = text.charAt(i);
+            if (ch == SPACE) {
+                if (isPreviousSpace) return false;
+                isPreviousSpace = true;
+            } else if (isCollapsible(ch)) {
+                return false;
+            } else {
+                isPreviousSpace = false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCollapsible(char ch) {
+        return ch == SPACE || ch == '\n' || ch == '\r' || ch == '\t';
     }
 }
@@ -0,0 +1,57 @@
+package ru.kotletkin.entityscout.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties("entityscout.extraction")
+public record ExtractionProperties(@DefaultValue("0") int parallelism,
+                                   @DefaultValue("64") int queueCapacity,
+                                   @DefaultValue("30s") Duration queueTimeout,
+                                   @DefaultValue("5m") Duration parseTimeout,
+                                   @DefaultValue("300MB") DataSize maxBodySize,
+                                   @DefaultValue Embedded embedded,
+                                   @DefaultValue Attachments attachments,
+                                   @DefaultValue Cache cache) {
+
+    public ExtractionProperties {
+        parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public record Embedded(@DefaultValue("false") boolean parallel,
+                           @DefaultValue("0") int parallelism) {
+
+        public Embedded {
+            parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    public record Attachments(@DefaultValue("1MB") DataSize memoryThreshold,
+                              Path directory) {
+
+        public Attachments {
+            directory = directory == null
+                    ? Path.of(System.getProperty("java.io.tmpdir"), "entityscout", "attachments")
+                    : directory;
+        }
+    }
+
+    public record Cache(@DefaultValue("false") boolean enabled,
+                        @DefaultValue("256MB") DataSize memoryMaxSize,
+                        @DefaultValue Disk disk) {
+    }
+
+    public record Disk(@DefaultValue("false") boolean enabled,
+                       Path directory,
+                       @DefaultValue("2GB") DataSize maxSize) {
+
+        public Disk {
+            directory = directory == null
+                    ? Path.of(System.getProperty("java.io.tmpdir"), "entityscout", "cache")
+                    : directory;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.kotletkin.entityscout.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties("entityscout.index")
+public record IndexProperties(@DefaultValue("false") boolean enabled,
+                              Path directory,
+                              @DefaultValue("64MB") DataSize ramBufferSize,
+                              @DefaultValue("1s") Duration refreshInterval,
+                              @DefaultValue("30s") Duration commitInterval,
+                              @DefaultValue("100") int maxPageSize,
+                              @DefaultValue("10000") int maxResultWindow,
+                              @DefaultValue({"content", "url"}) List<String> fields,
+                              @DefaultValue MergePolicy mergePolicy) {
+
+    public IndexProperties {
+        directory = directory == null
+                ? Path.of(System.getProperty("java.io.tmpdir"), "entityscout", "index")
+                : directory;
+    }
+
+    public record MergePolicy(@DefaultValue("10") double segmentsPerTier,
+                              @DefaultValue("5GB") DataSize maxMergedSegmentSize,
+                              @DefaultValue("16MB") DataSize floorSegmentSize,
+                              @DefaultValue("20") double deletesPctAllowed) {
+    }
+}
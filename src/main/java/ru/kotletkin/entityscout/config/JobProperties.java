@@ -0,0 +1,23 @@
+package ru.kotletkin.entityscout.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties("entityscout.jobs")
+public record JobProperties(Path directory,
+                            @DefaultValue("0") int workers,
+                            @DefaultValue("10000") int maxQueuedJobs,
+                            @DefaultValue("24h") Duration ttl,
+                            @DefaultValue("1h") Duration parseTimeout,
+                            @DefaultValue("10m") Duration cleanupInterval,
+                            @DefaultValue("1s") Duration retryDelay) {
+
+    public JobProperties {
+        directory = directory == null
+                ? Path.of(System.getProperty("java.io.tmpdir"), "entityscout", "jobs")
+                : directory;
+    }
+}
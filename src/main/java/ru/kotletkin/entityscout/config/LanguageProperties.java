@@ -0,0 +1,19 @@
+package ru.kotletkin.entityscout.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("entityscout.language")
+public record LanguageProperties(@DefaultValue("0") int poolSize,
+                                 @DefaultValue("10000") int maxBatchSize,
+                                 @DefaultValue Sampling sampling) {
+
+    public LanguageProperties {
+        poolSize = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    }
+
+    public record Sampling(@DefaultValue("1024") int chunkSize,
+                           @DefaultValue("16384") int maxSampleSize,
+                           @DefaultValue("0.95") float confidenceThreshold) {
+    }
+}
@@ -1,14 +1,63 @@
 package ru.kotletkin.entityscout.config;
 
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.core.KeywordTokenizerFactory;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.analysis.email.UAX29URLEmailAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.miscellaneous.TruncateTokenFilterFactory;
+import org.apache.lucene.analysis.ngram.NGramTokenizerFactory;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.monitor.Monitor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 public class LuceneConfiguration {
 
+    private static final String KEYWORD_MAX_LENGTH = "8191";
+
     @Bean
     public StandardAnalyzer standardAnalyzer() {
         return new StandardAnalyzer();
     }
+
+    @Bean
+    public PerFieldAnalyzerWrapper searchAnalyzer(StandardAnalyzer standardAnalyzer,
+                                                  SearchProperties searchProperties) throws IOException {
+        Map<String, Analyzer> fieldAnalyzers = new HashMap<>();
+        for (Map.Entry<String, SearchProperties.FieldAnalyzer> entry : searchProperties.fields().entrySet()) {
+            fieldAnalyzers.put(entry.getKey(), createAnalyzer(entry.getValue(), standardAnalyzer, searchProperties.ngram()));
+        }
+        return new PerFieldAnalyzerWrapper(standardAnalyzer, fieldAnalyzers);
+    }
+
+    @Bean(destroyMethod = "close")
+    public Monitor queryMonitor(PerFieldAnalyzerWrapper searchAnalyzer) throws IOException {
+        return new Monitor(searchAnalyzer);
+    }
+
+    private Analyzer createAnalyzer(SearchProperties.FieldAnalyzer fieldAnalyzer, StandardAnalyzer standardAnalyzer,
+                                    SearchProperties.NGram ngram) throws IOException {
+        return switch (fieldAnalyzer) {
+            case STANDARD -> standardAnalyzer;
+            case URL_EMAIL -> new UAX29URLEmailAnalyzer();
+            case KEYWORD -> CustomAnalyzer.builder()
+                    .withTokenizer(KeywordTokenizerFactory.class)
+                    .addTokenFilter(LowerCaseFilterFactory.class)
+                    .addTokenFilter(TruncateTokenFilterFactory.class, "prefixLength", KEYWORD_MAX_LENGTH)
+                    .build();
+            case NGRAM -> CustomAnalyzer.builder()
+                    .withTokenizer(NGramTokenizerFactory.class,
+                            "minGramSize", String.valueOf(ngram.minGramSize()),
+                            "maxGramSize", String.valueOf(ngram.maxGramSize()))
+                    .addTokenFilter(LowerCaseFilterFactory.class)
+                    .build();
+        };
+    }
 }
@@ -0,0 +1,38 @@
+package ru.kotletkin.entityscout.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties("entityscout.search")
+public record SearchProperties(Map<String, String> queries,
+                               Map<String, FieldAnalyzer> fields,
+                               @DefaultValue NGram ngram,
+                               @DefaultValue QueryCache queryCache) {
+
+    private static final String DEFAULT_FIELD_NAME = "content";
+
+    public SearchProperties {
+        queries = queries == null ? Map.of() : queries;
+        fields = fields == null ? new LinkedHashMap<>() : new LinkedHashMap<>(fields);
+        fields.putIfAbsent(DEFAULT_FIELD_NAME, FieldAnalyzer.STANDARD);
+    }
+
+    public enum FieldAnalyzer {
+        STANDARD,
+        URL_EMAIL,
+        KEYWORD,
+        NGRAM
+    }
+
+    public record NGram(@DefaultValue("3") int minGramSize,
+                        @DefaultValue("3") int maxGramSize) {
+    }
+
+    public record QueryCache(@DefaultValue("10000") long maximumSize,
+                             @DefaultValue("1h") Duration expireAfterAccess) {
+    }
+}
@@ -1,33 +1,85 @@
 package ru.kotletkin.entityscout.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tika.fork.ForkParser;
 import org.apache.tika.langdetect.optimaize.OptimaizeLangDetector;
-import org.apache.tika.language.detect.LanguageDetector;
+import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
 import org.apache.tika.parser.RecursiveParserWrapper;
 import org.apache.tika.sax.BasicContentHandlerFactory;
+import org.apache.tika.sax.RecursiveParserWrapperHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import ru.kotletkin.entityscout.document.cache.CachingParser;
+import ru.kotletkin.entityscout.document.cache.ExtractionCache;
+import ru.kotletkin.entityscout.document.observation.ObservedDetector;
+import ru.kotletkin.entityscout.document.observation.ObservedParser;
+import ru.kotletkin.entityscout.language.LanguageDetectorPool;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+@Slf4j
 @Configuration
 public class TikaConfiguration {
 
+    private static final String FORK_ENABLED_PROPERTY = "entityscout.tika.fork.enabled";
+    private static final byte[] PREWARM_DOCUMENT = "entityscout".getBytes(StandardCharsets.UTF_8);
+
     @Bean
-    public AutoDetectParser autoDetectParser() {
-        return new AutoDetectParser();
+    public AutoDetectParser autoDetectParser(ObservationRegistry observationRegistry) {
+        return createObservedAutoDetectParser(observationRegistry);
     }
 
     @Bean("recursiveAutoDetect")
-    public RecursiveParserWrapper autoDetectParserRecursive() {
-        return new RecursiveParserWrapper(new AutoDetectParser());
+    @ConditionalOnProperty(name = FORK_ENABLED_PROPERTY, havingValue = "false", matchIfMissing = true)
+    public Parser autoDetectParserRecursive(ExtractionCache extractionCache,
+                                            ObservationRegistry observationRegistry,
+                                            MeterRegistry meterRegistry) {
+        Parser parser = createObservedAutoDetectParser(observationRegistry);
+        if (extractionCache.isEnabled()) {
+            parser = new CachingParser(parser, extractionCache);
+        }
+        return new RecursiveParserWrapper(new ObservedParser(parser, observationRegistry, meterRegistry));
+    }
+
+    @Bean(value = "recursiveAutoDetect", destroyMethod = "close")
+    @ConditionalOnProperty(name = FORK_ENABLED_PROPERTY, havingValue = "true")
+    public ForkParser autoDetectParserForked(TikaProperties tikaProperties) throws Exception {
+        TikaProperties.Fork fork = tikaProperties.fork();
+
+        List<String> javaCommand = new ArrayList<>();
+        javaCommand.add(ProcessHandle.current().info().command().orElse("java"));
+        javaCommand.add("-Xmx" + fork.maxHeap());
+        javaCommand.add("-Djava.awt.headless=true");
+        javaCommand.addAll(fork.jvmOptions());
+
+        ForkParser forkParser = new ForkParser(TikaConfiguration.class.getClassLoader(), new AutoDetectParser());
+        forkParser.setJavaCommand(javaCommand);
+        forkParser.setPoolSize(fork.poolSize());
+        forkParser.setMaxFilesProcessedPerServer(fork.maxFilesPerProcess());
+        forkParser.setServerParseTimeoutMillis(fork.parseTimeout().toMillis());
+
+        if (fork.prewarm()) {
+            prewarm(forkParser, fork.poolSize());
+        }
+        return forkParser;
     }
 
     @Bean
-    public LanguageDetector languageDetector() throws IOException {
-        LanguageDetector languageDetector = new OptimaizeLangDetector();
-        languageDetector.loadModels();
-        return languageDetector;
+    public LanguageDetectorPool languageDetectorPool(LanguageProperties languageProperties) throws IOException {
+        return new LanguageDetectorPool(languageProperties.poolSize(), OptimaizeLangDetector::new);
     }
 
     @Bean("contentHandlerFactoryIgnore")
@@ -41,4 +93,30 @@ public class TikaConfiguration {
         return new BasicContentHandlerFactory(
                 BasicContentHandlerFactory.HANDLER_TYPE.TEXT, -1);
     }
+
+    private AutoDetectParser createObservedAutoDetectParser(ObservationRegistry observationRegistry) {
+        AutoDetectParser autoDetectParser = new AutoDetectParser();
+        autoDetectParser.setDetector(new ObservedDetector(autoDetectParser.getDetector(), observationRegistry));
+        return autoDetectParser;
+    }
+
+    private void prewarm(ForkParser forkParser, int poolSize) throws Exception {
+        long startTime = System.currentTimeMillis();
+        try (ExecutorService executorService = Executors.newFixedThreadPool(poolSize)) {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < poolSize; i++) {
+                futures.add(executorService.submit(() -> {
+                    forkParser.parse(new ByteArrayInputStream(PREWARM_DOCUMENT),
+                            new RecursiveParserWrapperHandler(contentHandlerFactoryWithText()),
+                            new Metadata(),
+                            new ParseContext());
+                    return null;
+                }));
+            }
+            for (Future<Object> future : futures) {
+                future.get();
+            }
+        }
+        log.info("Started {} forked parser processes in {} ms", poolSize, System.currentTimeMillis() - startTime);
+    }
 }
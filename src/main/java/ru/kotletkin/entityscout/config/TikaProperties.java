@@ -0,0 +1,24 @@
+package ru.kotletkin.entityscout.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties("entityscout.tika")
+public record TikaProperties(@DefaultValue Fork fork) {
+
+    public record Fork(@DefaultValue("false") boolean enabled,
+                       @DefaultValue("4") int poolSize,
+                       @DefaultValue("512m") String maxHeap,
+                       @DefaultValue("1000") int maxFilesPerProcess,
+                       @DefaultValue("5m") Duration parseTimeout,
+                       @DefaultValue("true") boolean prewarm,
+                       List<String> jvmOptions) {
+
+        public Fork {
+            jvmOptions = jvmOptions == null ? List.of() : jvmOptions;
+        }
+    }
+}
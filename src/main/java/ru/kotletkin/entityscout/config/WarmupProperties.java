@@ -0,0 +1,10 @@
+package ru.kotletkin.entityscout.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("entityscout.warmup")
+public record WarmupProperties(@DefaultValue("true") boolean enabled,
+                               @DefaultValue("5") int iterations,
+                               @DefaultValue("false") boolean exit) {
+}
@@ -8,10 +8,18 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriUtils;
+import ru.kotletkin.entityscout.common.util.NdjsonWriter;
 import ru.kotletkin.entityscout.document.dto.DocumentInfo;
 import ru.kotletkin.entityscout.document.dto.DocumentType;
+import ru.kotletkin.entityscout.document.model.ExtractionOptions;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 @Validated
 @RestController
@@ -19,26 +27,95 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DocumentController {
 
+    private static final String FILE_NAME_HEADER = "X-File-Name";
+
     private final DocumentService documentService;
+    private final ExtractionExecutor extractionExecutor;
+    private final JsonMapper jsonMapper;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public List<DocumentInfo> extractAutoInfoAboutDocument(@RequestPart("file") MultipartFile file,
                                                            @RequestParam(value = "documentType", defaultValue = "AUTO") DocumentType documentType,
-                                                           @RequestParam(value = "includeAttachments", defaultValue = "true") boolean isIncludeAttachments) {
-        return documentService.extractDocumentsAuto(file, documentType, isIncludeAttachments);
+                                                           @RequestParam(value = "includeAttachments", defaultValue = "true") boolean isIncludeAttachments,
+                                                           @RequestParam(value = "fields", required = false) List<String> fields,
+                                                           @RequestParam(value = "metadataKeys", required = false) List<String> metadataKeys,
+                                                           @RequestParam(value = "textLimit", defaultValue = "-1") @Min(-1) int textLimit) {
+        ExtractionOptions options = ExtractionOptions.of(fields, metadataKeys, textLimit);
+        return extractionExecutor.execute(() -> documentService.extractDocumentsAuto(file, documentType, isIncludeAttachments, options));
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            params = "stream=true",
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAutoInfoAboutDocument(@RequestPart("file") MultipartFile file,
+                                                                             @RequestParam(value = "documentType", defaultValue = "AUTO") DocumentType documentType,
+                                                                             @RequestParam(value = "includeAttachments", defaultValue = "true") boolean isIncludeAttachments,
+                                                                             @RequestParam(value = "fields", required = false) List<String> fields,
+                                                                             @RequestParam(value = "metadataKeys", required = false) List<String> metadataKeys,
+                                                                             @RequestParam(value = "textLimit", defaultValue = "-1") @Min(-1) int textLimit) {
+        ExtractionOptions options = ExtractionOptions.of(fields, metadataKeys, textLimit);
+        StreamingResponseBody responseBody = outputStream -> {
+            NdjsonWriter ndjsonWriter = new NdjsonWriter(outputStream, jsonMapper);
+            extractionExecutor.execute(() -> documentService.streamDocumentsAuto(file, documentType, isIncludeAttachments, options, ndjsonWriter::write));
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responseBody);
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public List<DocumentInfo> extractAutoInfoAboutBody(InputStream body,
+                                                       @RequestHeader(HttpHeaders.CONTENT_LENGTH) Optional<Long> contentLength,
+                                                       @RequestHeader(value = FILE_NAME_HEADER, required = false) String filename,
+                                                       @RequestParam(value = "documentType", defaultValue = "AUTO") DocumentType documentType,
+                                                       @RequestParam(value = "includeAttachments", defaultValue = "true") boolean isIncludeAttachments,
+                                                       @RequestParam(value = "fields", required = false) List<String> fields,
+                                                       @RequestParam(value = "metadataKeys", required = false) List<String> metadataKeys,
+                                                       @RequestParam(value = "textLimit", defaultValue = "-1") @Min(-1) int textLimit) {
+        ExtractionOptions options = ExtractionOptions.of(fields, metadataKeys, textLimit);
+        documentService.checkBodySize(contentLength.orElse(-1L));
+        return extractionExecutor.execute(() -> documentService.extractDocumentsAuto(body, decodeFilename(filename), documentType, isIncludeAttachments, options));
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            params = "stream=true",
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAutoInfoAboutBody(InputStream body,
+                                                                         @RequestHeader(HttpHeaders.CONTENT_LENGTH) Optional<Long> contentLength,
+                                                                         @RequestHeader(value = FILE_NAME_HEADER, required = false) String filename,
+                                                                         @RequestParam(value = "documentType", defaultValue = "AUTO") DocumentType documentType,
+                                                                         @RequestParam(value = "includeAttachments", defaultValue = "true") boolean isIncludeAttachments,
+                                                                         @RequestParam(value = "fields", required = false) List<String> fields,
+                                                                         @RequestParam(value = "metadataKeys", required = false) List<String> metadataKeys,
+                                                                         @RequestParam(value = "textLimit", defaultValue = "-1") @Min(-1) int textLimit) {
+        ExtractionOptions options = ExtractionOptions.of(fields, metadataKeys, textLimit);
+        documentService.checkBodySize(contentLength.orElse(-1L));
+        StreamingResponseBody responseBody = outputStream -> {
+            NdjsonWriter ndjsonWriter = new NdjsonWriter(outputStream, jsonMapper);
+            extractionExecutor.execute(() -> documentService.streamDocumentsAuto(body, decodeFilename(filename), documentType, isIncludeAttachments, options, ndjsonWriter::write));
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responseBody);
     }
 
     @PostMapping(value = "/attachments",
             consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
             produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    public ResponseEntity<byte[]> extractAttachmentToZip(@RequestPart("file") MultipartFile file,
-                                                         @RequestParam(value = "documentType", defaultValue = "AUTO") DocumentType documentType,
-                                                         @RequestParam(value = "maximumDepth", defaultValue = "10") @Min(1) int maximumDepth) {
-        byte[] responseByteArray = documentService.extractAttachmentOnZip(file, documentType, maximumDepth);
+    public ResponseEntity<StreamingResponseBody> extractAttachmentToZip(@RequestPart("file") MultipartFile file,
+                                                                        @RequestParam(value = "documentType", defaultValue = "AUTO") DocumentType documentType,
+                                                                        @RequestParam(value = "maximumDepth", defaultValue = "10") @Min(1) int maximumDepth) {
+        StreamingResponseBody responseBody = outputStream -> {
+            extractionExecutor.execute(() -> documentService.extractAttachmentOnZip(file, documentType, maximumDepth, outputStream));
+        };
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=\"attachments.zip\"")
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(responseByteArray);
+                .body(responseBody);
+    }
+
+    private static String decodeFilename(String filename) {
+        return filename == null ? null : UriUtils.decode(filename, StandardCharsets.UTF_8);
     }
 }
@@ -4,6 +4,8 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.metadata.TikaCoreProperties;
+import ru.kotletkin.entityscout.document.dto.DocumentField;
+import ru.kotletkin.entityscout.document.model.ExtractionOptions;
 import ru.kotletkin.entityscout.document.model.TikaContent;
 
 import java.util.HashMap;
@@ -14,27 +16,46 @@ import java.util.Optional;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class DocumentMapper {
 
-    public static TikaContent toTikaContent(Metadata metadata) {
+    public static TikaContent toTikaContent(Metadata metadata, ExtractionOptions options) {
 
-        Map<String, String> metadataMap = new HashMap<>();
-
-        String text = Optional.ofNullable(metadata.get(TikaCoreProperties.TIKA_CONTENT)).orElse("");
+        String text = options.isTextRequired()
+                ? Optional.ofNullable(metadata.get(TikaCoreProperties.TIKA_CONTENT)).orElse("")
+                : null;
         String resourceName = Optional.ofNullable(metadata.get(TikaCoreProperties.RESOURCE_NAME_KEY)).orElse("");
         String title = Optional.ofNullable(metadata.get(TikaCoreProperties.TITLE)).orElse("");
         String contentType = Optional.ofNullable(metadata.get(Metadata.CONTENT_TYPE)).orElse("");
         String isEncrypted = Optional.ofNullable(metadata.get(TikaCoreProperties.IS_ENCRYPTED)).orElse("false");
 
+        Map<String, String> metadataMap = options.includes(DocumentField.METADATA)
+                ? toMetadataMap(metadata, options)
+                : null;
+
+        return new TikaContent(resourceName, title, contentType, text, isEncrypted, metadataMap);
+    }
+
+    public static List<TikaContent> toTikaContent(List<Metadata> metadataList, ExtractionOptions options) {
+        return metadataList.stream().map(metadata -> toTikaContent(metadata, options)).toList();
+    }
+
+    private static Map<String, String> toMetadataMap(Metadata metadata, ExtractionOptions options) {
+        Map<String, String> metadataMap = new HashMap<>();
+
+        if (!options.metadataKeys().isEmpty()) {
+            for (String metaKey : options.metadataKeys()) {
+                String value = metadata.get(metaKey);
+                if (value != null) {
+                    metadataMap.put(metaKey, value);
+                }
+            }
+            return metadataMap;
+        }
+
         String[] metadataKeys = metadata.names();
         for (String metaKey : metadataKeys) {
             if (!metaKey.contains("X-TIKA")) {
                 metadataMap.put(metaKey, metadata.get(metaKey));
             }
         }
-
-        return new TikaContent(resourceName, title, contentType, text, isEncrypted, metadataMap);
-    }
-
-    public static List<TikaContent> toTikaContent(List<Metadata> metadataList) {
-        return metadataList.stream().map(DocumentMapper::toTikaContent).toList();
+        return metadataMap;
     }
 }
@@ -1,45 +1,70 @@
 package ru.kotletkin.entityscout.document;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.apache.tika.exception.EncryptedDocumentException;
 import org.apache.tika.exception.TikaException;
 import org.apache.tika.extractor.EmbeddedDocumentExtractor;
+import org.apache.tika.io.TemporaryResources;
+import org.apache.tika.io.TikaInputStream;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.metadata.TikaCoreProperties;
 import org.apache.tika.parser.AutoDetectParser;
 import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
 import org.apache.tika.parser.RecursiveParserWrapper;
 import org.apache.tika.parser.pdf.PDFParserConfig;
 import org.apache.tika.sax.BasicContentHandlerFactory;
 import org.apache.tika.sax.RecursiveParserWrapperHandler;
+import org.apache.tika.utils.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
+import ru.kotletkin.entityscout.common.util.InterruptibleInputStream;
 import ru.kotletkin.entityscout.common.util.TextUtils;
-import ru.kotletkin.entityscout.common.util.ZipArchiveBuilder;
+import ru.kotletkin.entityscout.config.ExtractionProperties;
+import ru.kotletkin.entityscout.document.attachment.ZipAttachmentSink;
+import ru.kotletkin.entityscout.document.dto.DocumentField;
 import ru.kotletkin.entityscout.document.dto.DocumentInfo;
 import ru.kotletkin.entityscout.document.dto.DocumentType;
 import ru.kotletkin.entityscout.document.extractor.NoEmbeddedDocumentExtractor;
+import ru.kotletkin.entityscout.document.handler.StreamingRecursiveParserWrapperHandler;
 import ru.kotletkin.entityscout.document.extractor.RecursiveAttachmentExtractor;
+import ru.kotletkin.entityscout.document.extractor.SpoolingEmbeddedDocumentExtractor;
+import ru.kotletkin.entityscout.document.model.ExtractionOptions;
 import ru.kotletkin.entityscout.document.model.TikaContent;
 import ru.kotletkin.entityscout.language.LanguageService;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.ZipOutputStream;
 
 @Service
 @RequiredArgsConstructor
 public class DocumentService {
 
+    private static final String EXTRACT_OBSERVATION_NAME = "entityscout.document.extract";
+    private static final String CLEAN_OBSERVATION_NAME = "entityscout.document.clean";
+    private static final String UPLOAD_SIZE_METRIC_NAME = "entityscout.document.upload.size";
+    private static final String EMBEDDED_COUNT_METRIC_NAME = "entityscout.document.embedded.count";
+    private static final String TEXT_SIZE_METRIC_NAME = "entityscout.document.text.size";
+
     @Qualifier("recursiveAutoDetect")
-    private final RecursiveParserWrapper autoDetectResursiveParser;
+    private final Parser autoDetectResursiveParser;
 
     @Qualifier("contentHandlerFactoryText")
     private final BasicContentHandlerFactory basicContentHandlerFactoryText;
@@ -49,46 +74,81 @@ public class DocumentService {
 
     private final AutoDetectParser autoDetectParser;
     private final LanguageService languageDetectionService;
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final ExtractionProperties extractionProperties;
+    private final EmbeddedExtractionExecutor embeddedExtractionExecutor;
 
-    public byte[] extractAttachmentOnZip(MultipartFile file, DocumentType documentType, int maximumDepth) {
-        Map<String, byte[]> attachments = new HashMap<>();
+    public void extractAttachmentOnZip(MultipartFile file, DocumentType documentType, int maximumDepth, OutputStream outputStream) {
+        recordUploadSize(file);
+        ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream);
         ParseContext parseContext = new ParseContext();
         Metadata metadata = new Metadata();
         ContentHandler handler = basicContentHandlerFactoryIgnore.getNewContentHandler();
 
-        parseContext.set(EmbeddedDocumentExtractor.class, new RecursiveAttachmentExtractor(attachments, maximumDepth));
+        parseContext.set(EmbeddedDocumentExtractor.class, new RecursiveAttachmentExtractor(
+                autoDetectParser, new ZipAttachmentSink(zipOutputStream), maximumDepth, extractionProperties.attachments()));
         processingMetadataOnType(metadata, documentType);
 
-        try (InputStream is = file.getInputStream()) {
+        try (InputStream is = new InterruptibleInputStream(file.getInputStream())) {
             autoDetectParser.parse(is, handler, metadata, parseContext);
-            return ZipArchiveBuilder.createZipFromAttachments(attachments);
+            zipOutputStream.finish();
         } catch (IOException | TikaException | SAXException _) {
             throw new RuntimeException();
         }
     }
 
-    public List<DocumentInfo> extractDocumentsAuto(MultipartFile file, DocumentType documentType, boolean isIncludeAttachments) {
+    public List<DocumentInfo> extractDocumentsAuto(MultipartFile file, DocumentType documentType, boolean isIncludeAttachments,
+                                                   ExtractionOptions options) {
+        recordUploadSize(file);
         try {
-            ParseContext parseContext = new ParseContext();
-            Metadata metadata = new Metadata();
-            metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, file.getOriginalFilename());
+            return extractDocumentsAuto(file.getInputStream(), file.getOriginalFilename(), documentType, isIncludeAttachments, options);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-            processingMetadataOnType(metadata, documentType);
+    public List<DocumentInfo> extractDocumentsAuto(InputStream inputStream, String filename, DocumentType documentType,
+                                                   boolean isIncludeAttachments, ExtractionOptions options) {
 
-            if (!isIncludeAttachments) {
-                parseContext.set(EmbeddedDocumentExtractor.class, new NoEmbeddedDocumentExtractor());
-            }
+        ParseContext parseContext = new ParseContext();
+        parseContext.set(ExtractionOptions.class, options);
+        Metadata metadata = new Metadata();
+        metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, filename);
+
+        processingMetadataOnType(metadata, documentType);
+
+        if (!isIncludeAttachments) {
+            parseContext.set(EmbeddedDocumentExtractor.class, new NoEmbeddedDocumentExtractor());
+        }
+
+        if (isParallelEmbedded(isIncludeAttachments)) {
+            List<DocumentInfo> documentInfos = new ArrayList<>();
+            DocumentInfo containerInfo = processDocumentParallel(inputStream, metadata, parseContext, options, documentInfos::add);
+            documentInfos.addFirst(containerInfo);
+            return documentInfos;
+        }
 
-            List<TikaContent> tikaContents = processDocument(file.getInputStream(), metadata, parseContext);
-            return postProcessingDocument(tikaContents);
+        List<TikaContent> tikaContents = processDocument(inputStream, metadata, parseContext, options);
+        return postProcessingDocument(tikaContents, options);
+    }
+
+    public void streamDocumentsAuto(MultipartFile file, DocumentType documentType, boolean isIncludeAttachments,
+                                    ExtractionOptions options, Consumer<DocumentInfo> documentConsumer) {
+        recordUploadSize(file);
+        try {
+            streamDocumentsAuto(file.getInputStream(), file.getOriginalFilename(), documentType, isIncludeAttachments, options, documentConsumer);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    public List<DocumentInfo> extractDocumentsAuto(InputStream inputStream, String filename, DocumentType documentType, boolean isIncludeAttachments) {
+    public void streamDocumentsAuto(InputStream inputStream, String filename, DocumentType documentType,
+                                    boolean isIncludeAttachments, ExtractionOptions options,
+                                    Consumer<DocumentInfo> documentConsumer) {
 
         ParseContext parseContext = new ParseContext();
+        parseContext.set(ExtractionOptions.class, options);
         Metadata metadata = new Metadata();
         metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, filename);
 
@@ -98,43 +158,192 @@ public class DocumentService {
             parseContext.set(EmbeddedDocumentExtractor.class, new NoEmbeddedDocumentExtractor());
         }
 
-        List<TikaContent> tikaContents = processDocument(inputStream, metadata, parseContext);
-        return postProcessingDocument(tikaContents);
+        if (isParallelEmbedded(isIncludeAttachments)) {
+            documentConsumer.accept(processDocumentParallel(inputStream, metadata, parseContext, options, documentConsumer));
+            return;
+        }
+
+        AtomicInteger documentCount = new AtomicInteger();
+        StreamingRecursiveParserWrapperHandler handler = new StreamingRecursiveParserWrapperHandler(
+                createContentHandlerFactory(options, parseContext),
+                documentMetadata -> {
+                    documentCount.incrementAndGet();
+                    documentConsumer.accept(postProcessingDocument(DocumentMapper.toTikaContent(documentMetadata, options), options));
+                });
+
+        Observation observation = Observation.createNotStarted(EXTRACT_OBSERVATION_NAME, observationRegistry).start();
+        try (TemporaryResources temporaryResources = new TemporaryResources();
+             TikaInputStream tikaInputStream = TikaInputStream.get(new InterruptibleInputStream(inputStream), temporaryResources, metadata);
+             Observation.Scope _ = observation.openScope()) {
+            autoDetectResursiveParser.parse(tikaInputStream, handler, metadata, parseContext);
+        } catch (EncryptedDocumentException _) {
+            // the container entry has already been published with its encryption flag
+        } catch (IOException | SAXException | TikaException e) {
+            observation.error(e);
+            throw new RuntimeException(e);
+        } finally {
+            observation.stop();
+            recordEmbeddedCount(documentCount.get());
+        }
+    }
+
+    public void checkBodySize(long contentLength) {
+        if (contentLength < 0) {
+            throw new ResponseStatusException(HttpStatus.LENGTH_REQUIRED, "Content-Length header is required");
+        }
+        long maxBodySize = extractionProperties.maxBodySize().toBytes();
+        if (contentLength > maxBodySize) {
+            throw new ResponseStatusException(HttpStatus.CONTENT_TOO_LARGE,
+                    "Request body exceeds the limit of " + maxBodySize + " bytes");
+        }
+        meterRegistry.summary(UPLOAD_SIZE_METRIC_NAME).record(contentLength);
     }
 
-    private List<TikaContent> processDocument(InputStream inputStream, Metadata metadata, ParseContext parseContext) {
-        RecursiveParserWrapperHandler handler = createRecursiveParserWrapperHandler();
+    private List<TikaContent> processDocument(InputStream inputStream, Metadata metadata, ParseContext parseContext,
+                                              ExtractionOptions options) {
+        RecursiveParserWrapperHandler handler = new RecursiveParserWrapperHandler(createContentHandlerFactory(options, parseContext));
 
-        try (BufferedInputStream bufferedInputStream = new BufferedInputStream(inputStream)) {
-            autoDetectResursiveParser.parse(bufferedInputStream, handler, metadata, parseContext);
+        Observation observation = Observation.createNotStarted(EXTRACT_OBSERVATION_NAME, observationRegistry).start();
+        try (TemporaryResources temporaryResources = new TemporaryResources();
+             TikaInputStream tikaInputStream = TikaInputStream.get(new InterruptibleInputStream(inputStream), temporaryResources, metadata);
+             Observation.Scope _ = observation.openScope()) {
+            autoDetectResursiveParser.parse(tikaInputStream, handler, metadata, parseContext);
             List<Metadata> metadataList = handler.getMetadataList();
-            return DocumentMapper.toTikaContent(metadataList);
+            return DocumentMapper.toTikaContent(metadataList, options);
         } catch (EncryptedDocumentException e) {
             List<Metadata> metadataList = handler.getMetadataList();
-            return DocumentMapper.toTikaContent(metadataList);
+            return DocumentMapper.toTikaContent(metadataList, options);
+        } catch (IOException | SAXException | TikaException e) {
+            observation.error(e);
+            throw new RuntimeException(e);
+        } finally {
+            observation.stop();
+            recordEmbeddedCount(handler.getMetadataList().size());
+        }
+    }
+
+    private boolean isParallelEmbedded(boolean isIncludeAttachments) {
+        return isIncludeAttachments
+                && extractionProperties.embedded().parallel()
+                && autoDetectResursiveParser instanceof RecursiveParserWrapper;
+    }
+
+    private DocumentInfo processDocumentParallel(InputStream inputStream, Metadata metadata, ParseContext parseContext,
+                                                 ExtractionOptions options, Consumer<DocumentInfo> embeddedConsumer) {
+        Parser containerParser = ((RecursiveParserWrapper) autoDetectResursiveParser).getWrappedParser();
+        ContentHandler handler = createContentHandlerFactory(options, parseContext).getNewContentHandler();
+        List<Future<List<DocumentInfo>>> futures = new ArrayList<>();
+        int documentCount = 1;
+
+        Observation observation = Observation.createNotStarted(EXTRACT_OBSERVATION_NAME, observationRegistry).start();
+        try (TemporaryResources temporaryResources = new TemporaryResources();
+             TikaInputStream tikaInputStream = TikaInputStream.get(new InterruptibleInputStream(inputStream), temporaryResources, metadata);
+             Observation.Scope _ = observation.openScope()) {
+            parseContext.set(EmbeddedDocumentExtractor.class, new SpoolingEmbeddedDocumentExtractor(temporaryResources,
+                    spooledDocument -> futures.add(embeddedExtractionExecutor.submit(() -> processEmbeddedDocument(spooledDocument, options)))));
+            try {
+                try {
+                    containerParser.parse(tikaInputStream, handler, metadata, parseContext);
+                } catch (EncryptedDocumentException _) {
+                    metadata.set(TikaCoreProperties.IS_ENCRYPTED, true);
+                }
+                if (options.isTextRequired()) {
+                    metadata.set(TikaCoreProperties.TIKA_CONTENT, handler.toString());
+                }
+
+                for (Future<List<DocumentInfo>> future : futures) {
+                    List<DocumentInfo> embeddedDocumentInfos = future.get();
+                    documentCount += embeddedDocumentInfos.size();
+                    embeddedDocumentInfos.forEach(embeddedConsumer);
+                }
+            } finally {
+                futures.forEach(future -> future.cancel(true));
+            }
+            return postProcessingDocument(DocumentMapper.toTikaContent(metadata, options), options);
+        } catch (ExecutionException e) {
+            observation.error(e.getCause());
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            observation.error(e);
+            throw new RuntimeException(e);
         } catch (IOException | SAXException | TikaException e) {
+            observation.error(e);
             throw new RuntimeException(e);
+        } finally {
+            observation.stop();
+            recordEmbeddedCount(documentCount);
         }
     }
 
-    private List<DocumentInfo> postProcessingDocument(List<TikaContent> tikaContents) {
+    private List<DocumentInfo> processEmbeddedDocument(SpoolingEmbeddedDocumentExtractor.SpooledDocument spooledDocument,
+                                                       ExtractionOptions options) {
+        Metadata metadata = spooledDocument.metadata();
+        metadata.set(TikaCoreProperties.EMBEDDED_DEPTH, 1);
+        ParseContext parseContext = new ParseContext();
+        parseContext.set(ExtractionOptions.class, options);
+        RecursiveParserWrapperHandler handler = new RecursiveParserWrapperHandler(createContentHandlerFactory(options, parseContext));
+
+        try (TikaInputStream tikaInputStream = TikaInputStream.get(spooledDocument.path())) {
+            autoDetectResursiveParser.parse(tikaInputStream, handler, metadata, parseContext);
+        } catch (EncryptedDocumentException _) {
+            metadata.set(TikaCoreProperties.IS_ENCRYPTED, true);
+        } catch (IOException | SAXException | TikaException e) {
+            metadata.set(TikaCoreProperties.EMBEDDED_EXCEPTION, ExceptionUtils.getStackTrace(e));
+        }
+
+        List<Metadata> metadataList = new ArrayList<>(handler.getMetadataList());
+        if (metadataList.isEmpty() || metadataList.getFirst() != metadata) {
+            metadataList.addFirst(metadata);
+        }
+        rebaseEmbeddedMetadata(metadataList);
+
+        metadataList.add(metadataList.removeFirst());
+        return postProcessingDocument(DocumentMapper.toTikaContent(metadataList, options), options);
+    }
+
+    private static void rebaseEmbeddedMetadata(List<Metadata> metadataList) {
+        Metadata rootMetadata = metadataList.getFirst();
+        String rootPath = "/" + Optional.ofNullable(rootMetadata.get(TikaCoreProperties.RESOURCE_NAME_KEY)).orElse("");
+        rootMetadata.set(TikaCoreProperties.EMBEDDED_RESOURCE_PATH, rootPath);
+
+        for (Metadata metadata : metadataList.subList(1, metadataList.size())) {
+            int depth = Optional.ofNullable(metadata.getInt(TikaCoreProperties.EMBEDDED_DEPTH)).orElse(0);
+            metadata.set(TikaCoreProperties.EMBEDDED_DEPTH, depth + 1);
+            metadata.set(TikaCoreProperties.EMBEDDED_RESOURCE_PATH,
+                    rootPath + Optional.ofNullable(metadata.get(TikaCoreProperties.EMBEDDED_RESOURCE_PATH)).orElse(""));
+        }
+    }
+
+    private List<DocumentInfo> postProcessingDocument(List<TikaContent> tikaContents, ExtractionOptions options) {
         List<DocumentInfo> documentInfos = new ArrayList<>();
         for (TikaContent tikaContent : tikaContents) {
-            String rawText = tikaContent.text();
-            String cleanText = TextUtils.clean(rawText);
-            String language = languageDetectionService.detectLanguage(cleanText).language();
-            DocumentInfo documentInfo = new DocumentInfo(tikaContent.resourceName(),
-                    language,
-                    tikaContent.title(),
-                    tikaContent.contentType(),
-                    cleanText,
-                    tikaContent.isEncrypted(),
-                    tikaContent.metadata());
-            documentInfos.add(documentInfo);
+            documentInfos.add(postProcessingDocument(tikaContent, options));
         }
         return documentInfos;
     }
 
+    private DocumentInfo postProcessingDocument(TikaContent tikaContent, ExtractionOptions options) {
+        String cleanText = null;
+        String language = null;
+        if (options.isTextRequired()) {
+            String rawText = tikaContent.text();
+            cleanText = Observation.createNotStarted(CLEAN_OBSERVATION_NAME, observationRegistry)
+                    .observe(() -> TextUtils.clean(rawText));
+            meterRegistry.summary(TEXT_SIZE_METRIC_NAME).record(cleanText.length());
+            if (options.includes(DocumentField.LANGUAGE)) {
+                language = languageDetectionService.detectLanguageSampled(cleanText).language();
+            }
+        }
+        return new DocumentInfo(options.includes(DocumentField.RESOURCE_NAME) ? tikaContent.resourceName() : null,
+                language,
+                options.includes(DocumentField.TITLE) ? tikaContent.title() : null,
+                options.includes(DocumentField.CONTENT_TYPE) ? tikaContent.contentType() : null,
+                options.includes(DocumentField.TEXT) ? cleanText : null,
+                options.includes(DocumentField.IS_ENCRYPTED) ? tikaContent.isEncrypted() : null,
+                tikaContent.metadata());
+    }
+
     private void processingMetadataOnType(Metadata metadata, DocumentType documentType) {
         switch (documentType) {
             case AUTO -> {
@@ -144,7 +353,21 @@ public class DocumentService {
         }
     }
 
-    private RecursiveParserWrapperHandler createRecursiveParserWrapperHandler() {
-        return new RecursiveParserWrapperHandler(basicContentHandlerFactoryText);
+    private void recordUploadSize(MultipartFile file) {
+        meterRegistry.summary(UPLOAD_SIZE_METRIC_NAME).record(file.getSize());
+    }
+
+    private void recordEmbeddedCount(int documentCount) {
+        meterRegistry.summary(EMBEDDED_COUNT_METRIC_NAME).record(Math.max(0, documentCount - 1));
+    }
+
+    private BasicContentHandlerFactory createContentHandlerFactory(ExtractionOptions options, ParseContext parseContext) {
+        if (!options.isTextRequired()) {
+            return basicContentHandlerFactoryIgnore;
+        }
+        if (options.textLimit() < 0) {
+            return basicContentHandlerFactoryText;
+        }
+        return new BasicContentHandlerFactory(BasicContentHandlerFactory.HANDLER_TYPE.TEXT, options.textLimit(), false, parseContext);
     }
 }
@@ -0,0 +1,44 @@
+package ru.kotletkin.entityscout.document;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import ru.kotletkin.entityscout.config.ExtractionProperties;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+@Component
+public class EmbeddedExtractionExecutor implements DisposableBean {
+
+    private final Semaphore parsePermits;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public EmbeddedExtractionExecutor(ExtractionProperties extractionProperties, MeterRegistry meterRegistry) {
+        int parallelism = extractionProperties.embedded().parallelism();
+        this.parsePermits = new Semaphore(parallelism, true);
+
+        Gauge.builder("entityscout.extraction.embedded.active", parsePermits,
+                permits -> parallelism - permits.availablePermits()).register(meterRegistry);
+    }
+
+    public <T> Future<T> submit(Callable<T> task) {
+        return workers.submit(() -> {
+            parsePermits.acquire();
+            try {
+                return task.call();
+            } finally {
+                parsePermits.release();
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+}
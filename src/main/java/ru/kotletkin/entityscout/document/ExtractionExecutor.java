@@ -0,0 +1,189 @@
+package ru.kotletkin.entityscout.document;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import ru.kotletkin.entityscout.config.ExtractionProperties;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class ExtractionExecutor implements DisposableBean {
+
+    private final ExtractionProperties extractionProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Semaphore parsePermits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger abandoned = new AtomicInteger();
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Timer queueWaitTimer;
+    private final Timer parseTimer;
+
+    public ExtractionExecutor(ExtractionProperties extractionProperties, MeterRegistry meterRegistry) {
+        this.extractionProperties = extractionProperties;
+        this.meterRegistry = meterRegistry;
+        this.parsePermits = new Semaphore(extractionProperties.parallelism(), true);
+        this.queueWaitTimer = Timer.builder("entityscout.extraction.queue.wait").register(meterRegistry);
+        this.parseTimer = Timer.builder("entityscout.extraction.parse").register(meterRegistry);
+
+        Gauge.builder("entityscout.extraction.waiting", waiting, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("entityscout.extraction.abandoned", abandoned, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("entityscout.extraction.active", parsePermits,
+                permits -> extractionProperties.parallelism() - permits.availablePermits()).register(meterRegistry);
+    }
+
+    public <T> T execute(Callable<T> task) {
+        try (Permit permit = acquire()) {
+            return permit.execute(task);
+        }
+    }
+
+    public void execute(Runnable task) {
+        execute(Executors.callable(task));
+    }
+
+    public Permit acquire() {
+        if (waiting.incrementAndGet() > extractionProperties.queueCapacity()) {
+            waiting.decrementAndGet();
+            throw reject("queue_full", HttpStatus.TOO_MANY_REQUESTS, "Extraction queue is full");
+        }
+
+        long startTime = System.nanoTime();
+        boolean isAcquired;
+        try {
+            isAcquired = parsePermits.tryAcquire(extractionProperties.queueTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            waiting.decrementAndGet();
+            queueWaitTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+
+        if (!isAcquired) {
+            throw reject("queue_timeout", HttpStatus.SERVICE_UNAVAILABLE, "Timed out waiting for a free extraction worker");
+        }
+        return new Permit();
+    }
+
+    public Optional<Permit> tryAcquire() {
+        try {
+            return parsePermits.tryAcquire(0, TimeUnit.NANOSECONDS) ? Optional.of(new Permit()) : Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+
+    private ResponseStatusException reject(String reason, HttpStatus status, String message) {
+        Counter.builder("entityscout.extraction.rejected")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return new ResponseStatusException(status, message);
+    }
+
+    public final class Permit implements AutoCloseable {
+
+        private static final int RUNNING = 0;
+        private static final int FINISHED = 1;
+        private static final int ABANDONED = 2;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+        private volatile boolean submitted;
+
+        private Permit() {
+        }
+
+        public <T> T execute(Callable<T> task) {
+            return execute(task, extractionProperties.parseTimeout());
+        }
+
+        public <T> T execute(Callable<T> task, Duration timeout) {
+            if (submitted) {
+                throw new IllegalStateException("Extraction permit has already been used");
+            }
+            submitted = true;
+
+            Future<T> future = workers.submit(() -> {
+                try {
+                    return parseTimer.recordCallable(task);
+                } finally {
+                    release();
+                    if (state.getAndSet(FINISHED) == ABANDONED) {
+                        abandoned.decrementAndGet();
+                    }
+                }
+            });
+            return await(future, timeout);
+        }
+
+        public void execute(Runnable task) {
+            execute(Executors.callable(task));
+        }
+
+        @Override
+        public void close() {
+            if (!submitted) {
+                release();
+            }
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                parsePermits.release();
+            }
+        }
+
+        private <T> T await(Future<T> future, Duration timeout) {
+            try {
+                return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                if (state.compareAndSet(RUNNING, ABANDONED)) {
+                    abandoned.incrementAndGet();
+                }
+                log.warn("Document parsing exceeded timeout of {}", timeout);
+                throw reject("parse_timeout", HttpStatus.SERVICE_UNAVAILABLE, "Document parsing timed out");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new RuntimeException(e.getCause());
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
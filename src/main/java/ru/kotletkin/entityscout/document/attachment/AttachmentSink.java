@@ -0,0 +1,13 @@
+package ru.kotletkin.entityscout.document.attachment;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface AttachmentSink {
+
+    String reserve(String path);
+
+    void write(String entryName, InputStream content) throws IOException;
+
+    void write(String entryName, SpooledAttachment attachment) throws IOException;
+}
@@ -0,0 +1,120 @@
+package ru.kotletkin.entityscout.document.attachment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class SpooledAttachment implements Closeable {
+
+    private final byte[] content;
+    private final Path file;
+    private final long size;
+
+    private SpooledAttachment(byte[] content, Path file, long size) {
+        this.content = content;
+        this.file = file;
+        this.size = size;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public void transferTo(WritableByteChannel target) throws IOException {
+        if (file == null) {
+            writeFully(target, ByteBuffer.wrap(content));
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void writeFully(WritableByteChannel target, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    public static class Writer extends OutputStream {
+
+        private final int memoryThreshold;
+        private final Path directory;
+
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private Path file;
+        private FileChannel channel;
+        private long size;
+
+        public Writer(int memoryThreshold, Path directory) {
+            this.memoryThreshold = memoryThreshold;
+            this.directory = directory;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (channel == null && size + len <= memoryThreshold) {
+                buffer.write(b, off, len);
+            } else {
+                if (channel == null) {
+                    spill();
+                }
+                writeFully(channel, ByteBuffer.wrap(b, off, len));
+            }
+            size += len;
+        }
+
+        public SpooledAttachment toAttachment() throws IOException {
+            if (channel == null) {
+                return new SpooledAttachment(buffer.toByteArray(), null, size);
+            }
+
+            channel.close();
+            channel = null;
+            SpooledAttachment attachment = new SpooledAttachment(null, file, size);
+            file = null;
+            return attachment;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel != null) {
+                channel.close();
+            }
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        private void spill() throws IOException {
+            Files.createDirectories(directory);
+            file = Files.createTempFile(directory, "attachment-", ".bin");
+            channel = FileChannel.open(file, StandardOpenOption.WRITE);
+            writeFully(channel, ByteBuffer.wrap(buffer.toByteArray()));
+            buffer = null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.kotletkin.entityscout.document.attachment;
+
+import ru.kotletkin.entityscout.common.util.ZipArchiveBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class ZipAttachmentSink implements AttachmentSink {
+
+    private final ZipOutputStream zipOutputStream;
+    private final WritableByteChannel zipChannel;
+    private final Set<String> entryNames = new HashSet<>();
+
+    public ZipAttachmentSink(ZipOutputStream zipOutputStream) {
+        this.zipOutputStream = zipOutputStream;
+        this.zipChannel = Channels.newChannel(zipOutputStream);
+    }
+
+    @Override
+    public synchronized String reserve(String path) {
+        if (entryNames.add(path)) {
+            return path;
+        }
+
+        int nameStart = path.lastIndexOf('/') + 1;
+        int extensionStart = path.lastIndexOf('.');
+        if (extensionStart <= nameStart) {
+            extensionStart = path.length();
+        }
+        String base = path.substring(0, extensionStart);
+        String extension = path.substring(extensionStart);
+
+        for (int copy = 2; ; copy++) {
+            String candidate = base + " (" + copy + ")" + extension;
+            if (entryNames.add(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void write(String entryName, InputStream content) throws IOException {
+        ZipArchiveBuilder.writeEntry(zipOutputStream, entryName, content);
+    }
+
+    @Override
+    public synchronized void write(String entryName, SpooledAttachment attachment) throws IOException {
+        ZipEntry zipEntry = new ZipEntry(entryName);
+        zipEntry.setSize(attachment.size());
+
+        zipOutputStream.putNextEntry(zipEntry);
+        attachment.transferTo(zipChannel);
+        zipOutputStream.closeEntry();
+    }
+}
@@ -0,0 +1,8 @@
+package ru.kotletkin.entityscout.document.cache;
+
+import org.apache.tika.metadata.Metadata;
+
+import java.io.Serializable;
+
+public record CachedDocument(Metadata metadata, String text) implements Serializable {
+}
@@ -0,0 +1,163 @@
+package ru.kotletkin.entityscout.document.cache;
+
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.extractor.EmbeddedDocumentExtractor;
+import org.apache.tika.io.TemporaryResources;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.parser.ParserDecorator;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import ru.kotletkin.entityscout.document.extractor.NoEmbeddedDocumentExtractor;
+import ru.kotletkin.entityscout.document.extractor.SpoolingEmbeddedDocumentExtractor;
+import ru.kotletkin.entityscout.document.model.ExtractionOptions;
+
+import java.io.DigestInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+public class CachingParser extends ParserDecorator {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final String EMBEDDED_KEY_PREFIX = "X-TIKA:embedded";
+    private static final int TEXT_CHUNK_SIZE = 8192;
+
+    private final transient ExtractionCache extractionCache;
+
+    public CachingParser(Parser parser, ExtractionCache extractionCache) {
+        super(parser);
+        this.extractionCache = extractionCache;
+    }
+
+    @Override
+    public void parse(InputStream stream, ContentHandler handler, Metadata metadata, ParseContext context)
+            throws IOException, SAXException, TikaException {
+
+        if (context.get(EmbeddedDocumentExtractor.class) instanceof SpoolingEmbeddedDocumentExtractor) {
+            super.parse(stream, handler, metadata, context);
+            return;
+        }
+
+        ParseCounter parseCounter = context.get(ParseCounter.class);
+        if (parseCounter == null) {
+            parseCounter = new ParseCounter();
+            context.set(ParseCounter.class, parseCounter);
+        }
+        long parseNumber = ++parseCounter.count;
+
+        try (TemporaryResources temporaryResources = new TemporaryResources()) {
+            MessageDigest messageDigest = createMessageDigest();
+            TikaInputStream tikaInputStream = readWithDigest(stream, messageDigest, temporaryResources, metadata);
+            ExtractionOptions extractionOptions = context.get(ExtractionOptions.class);
+            if (extractionOptions == null) {
+                extractionOptions = ExtractionOptions.ALL;
+            }
+            String key = createKey(messageDigest, extractionOptions, metadata, context);
+
+            CachedDocument cachedDocument = extractionCache.get(key);
+            if (cachedDocument != null) {
+                replay(cachedDocument, handler, metadata);
+                return;
+            }
+
+            Metadata inputMetadata = copy(metadata);
+
+            super.parse(tikaInputStream, handler, metadata, context);
+
+            if (extractionOptions.isTextRequired() && parseCounter.count == parseNumber) {
+                extractionCache.put(key, new CachedDocument(producedMetadata(inputMetadata, metadata), handler.toString()));
+            }
+        }
+    }
+
+    private TikaInputStream readWithDigest(InputStream stream, MessageDigest messageDigest,
+                                           TemporaryResources temporaryResources, Metadata metadata) throws IOException {
+        if (TikaInputStream.isTikaInputStream(stream) && TikaInputStream.cast(stream).hasFile()) {
+            TikaInputStream tikaInputStream = TikaInputStream.cast(stream);
+            try (InputStream fileStream = new DigestInputStream(Files.newInputStream(tikaInputStream.getPath()), messageDigest)) {
+                fileStream.transferTo(OutputStream.nullOutputStream());
+            }
+            return tikaInputStream;
+        }
+
+        TikaInputStream tikaInputStream = TikaInputStream.get(new DigestInputStream(stream, messageDigest), temporaryResources, metadata);
+        tikaInputStream.getPath();
+        return tikaInputStream;
+    }
+
+    private String createKey(MessageDigest messageDigest, ExtractionOptions extractionOptions, Metadata metadata,
+                             ParseContext context) {
+        String options = String.join("|",
+                String.valueOf(extractionOptions.isTextRequired() ? extractionOptions.textLimit() : -1),
+                String.valueOf(context.get(EmbeddedDocumentExtractor.class) instanceof NoEmbeddedDocumentExtractor),
+                String.valueOf(metadata.get(TikaCoreProperties.CONTENT_TYPE_USER_OVERRIDE)));
+        messageDigest.update(options.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(messageDigest.digest());
+    }
+
+    private void replay(CachedDocument cachedDocument, ContentHandler handler, Metadata metadata) throws SAXException {
+        for (String name : cachedDocument.metadata().names()) {
+            metadata.remove(name);
+            for (String value : cachedDocument.metadata().getValues(name)) {
+                metadata.add(name, value);
+            }
+        }
+
+        String text = cachedDocument.text();
+        char[] chunk = new char[Math.min(TEXT_CHUNK_SIZE, Math.max(1, text.length()))];
+        handler.startDocument();
+        for (int offset = 0; offset < text.length(); offset += chunk.length) {
+            int length = Math.min(chunk.length, text.length() - offset);
+            text.getChars(offset, offset + length, chunk, 0);
+            handler.characters(chunk, 0, length);
+        }
+        handler.endDocument();
+    }
+
+    private static Metadata producedMetadata(Metadata inputMetadata, Metadata metadata) {
+        Metadata producedMetadata = new Metadata();
+        for (String name : metadata.names()) {
+            boolean isOccurrenceSpecific = name.equals(TikaCoreProperties.RESOURCE_NAME_KEY)
+                    || name.startsWith(EMBEDDED_KEY_PREFIX);
+            String[] values = metadata.getValues(name);
+            if (!isOccurrenceSpecific && !Arrays.equals(values, inputMetadata.getValues(name))) {
+                for (String value : values) {
+                    producedMetadata.add(name, value);
+                }
+            }
+        }
+        return producedMetadata;
+    }
+
+    private static Metadata copy(Metadata metadata) {
+        Metadata copy = new Metadata();
+        for (String name : metadata.names()) {
+            for (String value : metadata.getValues(name)) {
+                copy.add(name, value);
+            }
+        }
+        return copy;
+    }
+
+    private static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class ParseCounter {
+        private long count;
+    }
+}
@@ -0,0 +1,152 @@
+package ru.kotletkin.entityscout.document.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.kotletkin.entityscout.config.ExtractionProperties;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class ExtractionCache {
+
+    private static final String MEMORY_CACHE_NAME = "extractionDocuments";
+    private static final String DISK_CACHE_NAME = "extractionDocumentsDisk";
+    private static final String ENTRY_SUFFIX = ".bin";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final Pattern ENTRY_PATTERN = Pattern.compile("[0-9a-f]{64}\\.bin");
+    private static final Pattern TEMPORARY_PATTERN = Pattern.compile("[0-9a-f]{64}\\d*\\.tmp");
+    private static final int METADATA_WEIGHT = 4096;
+    private static final ObjectInputFilter ENTRY_FILTER = ObjectInputFilter.Config.createFilter(
+            CachedDocument.class.getName() + ";org.apache.tika.**;java.util.**;java.lang.**;!*");
+
+    private final boolean enabled;
+    private final Cache<String, CachedDocument> memoryCache;
+    private final Cache<String, Long> diskIndex;
+    private final Path directory;
+
+    public ExtractionCache(ExtractionProperties extractionProperties, MeterRegistry meterRegistry) throws IOException {
+        ExtractionProperties.Cache properties = extractionProperties.cache();
+        this.enabled = properties.enabled();
+        this.memoryCache = Caffeine.newBuilder()
+                .maximumWeight(properties.memoryMaxSize().toBytes())
+                .weigher((String _, CachedDocument document) -> weight(METADATA_WEIGHT + (long) document.text().length() * Character.BYTES))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memoryCache, MEMORY_CACHE_NAME);
+
+        if (enabled && properties.disk().enabled()) {
+            this.directory = properties.disk().directory();
+            this.diskIndex = Caffeine.newBuilder()
+                    .maximumWeight(properties.disk().maxSize().toBytes())
+                    .weigher((String _, Long size) -> weight(size))
+                    .evictionListener((String key, Long _, RemovalCause _) -> deleteEntry(key))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, diskIndex, DISK_CACHE_NAME);
+            loadDiskIndex();
+        } else {
+            this.directory = null;
+            this.diskIndex = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CachedDocument get(String key) {
+        CachedDocument document = memoryCache.getIfPresent(key);
+        if (document == null && diskIndex != null && diskIndex.getIfPresent(key) != null) {
+            document = readEntry(key);
+            if (document != null) {
+                memoryCache.put(key, document);
+            }
+        }
+        return document;
+    }
+
+    public void put(String key, CachedDocument document) {
+        memoryCache.put(key, document);
+        if (diskIndex != null) {
+            writeEntry(key, document);
+        }
+    }
+
+    private void loadDiskIndex() throws IOException {
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                String filename = entry.getFileName().toString();
+                if (!Files.isRegularFile(entry)) {
+                    continue;
+                }
+                if (ENTRY_PATTERN.matcher(filename).matches()) {
+                    diskIndex.put(filename.substring(0, filename.length() - ENTRY_SUFFIX.length()), Files.size(entry));
+                } else if (TEMPORARY_PATTERN.matcher(filename).matches()) {
+                    Files.deleteIfExists(entry);
+                }
+            }
+        }
+        log.info("Loaded {} extraction cache entries from {}", diskIndex.estimatedSize(), directory);
+    }
+
+    private CachedDocument readEntry(String key) {
+        try (ObjectInputStream inputStream = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(entryPath(key))))) {
+            inputStream.setObjectInputFilter(ENTRY_FILTER);
+            return (CachedDocument) inputStream.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            log.warn("Failed to read extraction cache entry {}", key, e);
+            diskIndex.invalidate(key);
+            deleteEntry(key);
+            return null;
+        }
+    }
+
+    private void writeEntry(String key, CachedDocument document) {
+        try {
+            Path temporaryFile = Files.createTempFile(directory, key, TEMPORARY_SUFFIX);
+            try (ObjectOutputStream outputStream = new ObjectOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                outputStream.writeObject(document);
+            }
+            Path entry = entryPath(key);
+            Files.move(temporaryFile, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            diskIndex.put(key, Files.size(entry));
+        } catch (IOException e) {
+            log.warn("Failed to write extraction cache entry {}", key, e);
+        }
+    }
+
+    private void deleteEntry(String key) {
+        try {
+            Files.deleteIfExists(entryPath(key));
+        } catch (IOException e) {
+            log.warn("Failed to delete extraction cache entry {}", key, e);
+        }
+    }
+
+    private static int weight(long size) {
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    private Path entryPath(String key) {
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+}
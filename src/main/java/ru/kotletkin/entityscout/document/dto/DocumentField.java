@@ -0,0 +1,29 @@
+package ru.kotletkin.entityscout.document.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@Getter
+@RequiredArgsConstructor
+public enum DocumentField {
+    RESOURCE_NAME("resourceName"),
+    LANGUAGE("language"),
+    TITLE("title"),
+    CONTENT_TYPE("contentType"),
+    TEXT("text"),
+    IS_ENCRYPTED("isEncrypted"),
+    METADATA("metadata");
+
+    private final String fieldName;
+
+    public static DocumentField fromFieldName(String fieldName) {
+        for (DocumentField documentField : values()) {
+            if (documentField.fieldName.equalsIgnoreCase(fieldName.trim())) {
+                return documentField;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown document field: " + fieldName);
+    }
+}
@@ -1,7 +1,10 @@
 package ru.kotletkin.entityscout.document.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.Map;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record DocumentInfo(String resourceName,
                            String language,
                            String title,
@@ -5,8 +5,9 @@ import org.apache.tika.metadata.Metadata;
 import org.xml.sax.ContentHandler;
 
 import java.io.InputStream;
+import java.io.Serializable;
 
-public class NoEmbeddedDocumentExtractor implements EmbeddedDocumentExtractor {
+public class NoEmbeddedDocumentExtractor implements EmbeddedDocumentExtractor, Serializable {
     @Override
     public boolean shouldParseEmbedded(Metadata metadata) {
         return false;
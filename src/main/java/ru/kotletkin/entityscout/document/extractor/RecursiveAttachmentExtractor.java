@@ -2,30 +2,49 @@ package ru.kotletkin.entityscout.document.extractor;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tika.extractor.EmbeddedDocumentExtractor;
+import org.apache.tika.io.TemporaryResources;
+import org.apache.tika.io.TikaInputStream;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.metadata.TikaCoreProperties;
-import org.apache.tika.parser.AutoDetectParser;
 import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.helpers.DefaultHandler;
+import ru.kotletkin.entityscout.common.util.TeeInputStream;
+import ru.kotletkin.entityscout.config.ExtractionProperties;
+import ru.kotletkin.entityscout.document.attachment.AttachmentSink;
+import ru.kotletkin.entityscout.document.attachment.SpooledAttachment;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Map;
+import java.io.OutputStream;
 
 @Slf4j
 public class RecursiveAttachmentExtractor implements EmbeddedDocumentExtractor {
 
-    private int depth = 0;
+    private static final String NESTED_DIRECTORY_SUFFIX = ".attachments/";
+
+    private final Parser parser;
+    private final AttachmentSink attachmentSink;
+    private final ExtractionProperties.Attachments attachments;
     private final int maximumDepth;
-    private final Map<String, byte[]> attachments;
-    private static final AutoDetectParser AUTO_DETECT_PARSER = new AutoDetectParser();
+    private final int depth;
+    private final String parentPath;
 
-    public RecursiveAttachmentExtractor(Map<String, byte[]> attachments, int maximumDepth) {
-        this.maximumDepth = maximumDepth;
+    public RecursiveAttachmentExtractor(Parser parser, AttachmentSink attachmentSink, int maximumDepth,
+                                        ExtractionProperties.Attachments attachments) {
+        this(parser, attachmentSink, attachments, maximumDepth, 0, "");
+    }
+
+    private RecursiveAttachmentExtractor(Parser parser, AttachmentSink attachmentSink,
+                                         ExtractionProperties.Attachments attachments,
+                                         int maximumDepth, int depth, String parentPath) {
+        this.parser = parser;
+        this.attachmentSink = attachmentSink;
         this.attachments = attachments;
+        this.maximumDepth = maximumDepth;
+        this.depth = depth;
+        this.parentPath = parentPath;
     }
 
     @Override
@@ -36,46 +55,63 @@ public class RecursiveAttachmentExtractor implements EmbeddedDocumentExtractor {
     @Override
     public void parseEmbedded(InputStream inputStream, ContentHandler contentHandler, Metadata metadata, boolean b) throws IOException {
 
-        String filename = metadata.get(TikaCoreProperties.RESOURCE_NAME_KEY);
-
+        String filename = toEntryFilename(metadata.get(TikaCoreProperties.RESOURCE_NAME_KEY));
         if (filename == null) {
             return;
-        } else {
-
-            if (filename.contains("/")) {
-                filename = filename.substring(filename.lastIndexOf("/") + 1);
-            }
+        }
 
-            if (filename.contains("\\")) {
-                filename = filename.substring(filename.lastIndexOf("\\") + 1);
-            }
+        String entryName = attachmentSink.reserve(parentPath + filename);
 
-            if (filename.isEmpty()) {
-                return;
-            }
+        if (depth + 1 >= maximumDepth) {
+            attachmentSink.write(entryName, inputStream);
+            return;
         }
 
-        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-        byte[] data = new byte[8192];
-        int length;
+        try (SpooledAttachment.Writer writer = new SpooledAttachment.Writer(
+                Math.toIntExact(attachments.memoryThreshold().toBytes()), attachments.directory())) {
+            TeeInputStream teeInputStream = new TeeInputStream(inputStream, writer);
+            parseNested(teeInputStream, filename, entryName);
+            teeInputStream.transferTo(OutputStream.nullOutputStream());
 
-        while ((length = inputStream.read(data)) != -1) {
-            buffer.write(data, 0, length);
+            try (SpooledAttachment attachment = writer.toAttachment()) {
+                attachmentSink.write(entryName, attachment);
+            }
         }
+    }
 
-        byte[] content = buffer.toByteArray();
-        attachments.put(filename, content);
+    private void parseNested(InputStream inputStream, String filename, String entryName) {
+        Metadata nestedMetadata = new Metadata();
+        nestedMetadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, filename);
 
-        depth++;
+        ParseContext nestedContext = new ParseContext();
+        nestedContext.set(EmbeddedDocumentExtractor.class, new RecursiveAttachmentExtractor(parser, attachmentSink,
+                attachments, maximumDepth, depth + 1, entryName + NESTED_DIRECTORY_SUFFIX));
 
-        try (InputStream embeddedStream = new ByteArrayInputStream(content)) {
-            ParseContext embeddedContext = new ParseContext();
-            embeddedContext.set(EmbeddedDocumentExtractor.class, this);
-            AUTO_DETECT_PARSER.parse(embeddedStream, new DefaultHandler(), new Metadata(), embeddedContext);
+        try (TemporaryResources temporaryResources = new TemporaryResources()) {
+            TikaInputStream nestedStream = TikaInputStream.get(inputStream, temporaryResources, nestedMetadata);
+            parser.parse(nestedStream, new DefaultHandler(), nestedMetadata, nestedContext);
         } catch (Exception e) {
             log.warn("Error parsing file on extraction attachments with name: {}", filename);
-        } finally {
-            depth--;
         }
     }
+
+    private static String toEntryFilename(String resourceName) {
+        if (resourceName == null) {
+            return null;
+        }
+
+        String filename = resourceName;
+        if (filename.contains("/")) {
+            filename = filename.substring(filename.lastIndexOf("/") + 1);
+        }
+
+        if (filename.contains("\\")) {
+            filename = filename.substring(filename.lastIndexOf("\\") + 1);
+        }
+
+        if (filename.isEmpty() || filename.equals(".") || filename.equals("..")) {
+            return null;
+        }
+        return filename;
+    }
 }
@@ -0,0 +1,41 @@
+package ru.kotletkin.entityscout.document.extractor;
+
+import org.apache.tika.extractor.EmbeddedDocumentExtractor;
+import org.apache.tika.io.TemporaryResources;
+import org.apache.tika.metadata.Metadata;
+import org.xml.sax.ContentHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Consumer;
+
+public class SpoolingEmbeddedDocumentExtractor implements EmbeddedDocumentExtractor {
+
+    private final TemporaryResources temporaryResources;
+    private final Consumer<SpooledDocument> spooledDocumentConsumer;
+
+    public SpoolingEmbeddedDocumentExtractor(TemporaryResources temporaryResources,
+                                             Consumer<SpooledDocument> spooledDocumentConsumer) {
+        this.temporaryResources = temporaryResources;
+        this.spooledDocumentConsumer = spooledDocumentConsumer;
+    }
+
+    @Override
+    public boolean shouldParseEmbedded(Metadata metadata) {
+        return true;
+    }
+
+    @Override
+    public void parseEmbedded(InputStream inputStream, ContentHandler contentHandler, Metadata metadata, boolean outputHtml)
+            throws IOException {
+        Path path = temporaryResources.createTempFile();
+        Files.copy(inputStream, path, StandardCopyOption.REPLACE_EXISTING);
+        spooledDocumentConsumer.accept(new SpooledDocument(path, metadata));
+    }
+
+    public record SpooledDocument(Path path, Metadata metadata) {
+    }
+}
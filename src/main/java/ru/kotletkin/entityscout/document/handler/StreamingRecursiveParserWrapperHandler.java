@@ -0,0 +1,44 @@
+package ru.kotletkin.entityscout.document.handler;
+
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
+import org.apache.tika.sax.AbstractRecursiveParserWrapperHandler;
+import org.apache.tika.sax.ContentHandlerFactory;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.function.Consumer;
+
+public class StreamingRecursiveParserWrapperHandler extends AbstractRecursiveParserWrapperHandler {
+
+    private final transient Consumer<Metadata> documentConsumer;
+
+    public StreamingRecursiveParserWrapperHandler(ContentHandlerFactory contentHandlerFactory,
+                                                  Consumer<Metadata> documentConsumer) {
+        super(contentHandlerFactory);
+        this.documentConsumer = documentConsumer;
+    }
+
+    @Override
+    public void endEmbeddedDocument(ContentHandler contentHandler, Metadata metadata) throws SAXException {
+        super.endEmbeddedDocument(contentHandler, metadata);
+        publish(contentHandler, metadata);
+    }
+
+    @Override
+    public void endDocument(ContentHandler contentHandler, Metadata metadata) throws SAXException {
+        super.endDocument(contentHandler, metadata);
+        publish(contentHandler, metadata);
+    }
+
+    private void publish(ContentHandler contentHandler, Metadata metadata) {
+        if (!contentHandler.getClass().equals(DefaultHandler.class)) {
+            String content = contentHandler.toString();
+            if (content != null && !content.isBlank()) {
+                metadata.set(TikaCoreProperties.TIKA_CONTENT, content);
+            }
+        }
+        documentConsumer.accept(metadata);
+    }
+}
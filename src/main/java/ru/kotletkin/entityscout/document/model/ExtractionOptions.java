@@ -0,0 +1,36 @@
+package ru.kotletkin.entityscout.document.model;
+
+import ru.kotletkin.entityscout.document.dto.DocumentField;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record ExtractionOptions(Set<DocumentField> fields, Set<String> metadataKeys, int textLimit) implements Serializable {
+
+    public static final ExtractionOptions ALL = new ExtractionOptions(EnumSet.allOf(DocumentField.class), Set.of(), -1);
+
+    public ExtractionOptions {
+        fields = Set.copyOf(fields);
+        metadataKeys = Set.copyOf(metadataKeys);
+    }
+
+    public static ExtractionOptions of(Collection<String> fieldNames, Collection<String> metadataKeys, int textLimit) {
+        Set<DocumentField> fields = fieldNames == null || fieldNames.isEmpty()
+                ? EnumSet.allOf(DocumentField.class)
+                : fieldNames.stream()
+                .map(DocumentField::fromFieldName)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(DocumentField.class)));
+        return new ExtractionOptions(fields, metadataKeys == null ? Set.of() : Set.copyOf(metadataKeys), textLimit);
+    }
+
+    public boolean includes(DocumentField field) {
+        return fields.contains(field);
+    }
+
+    public boolean isTextRequired() {
+        return includes(DocumentField.TEXT) || includes(DocumentField.LANGUAGE);
+    }
+}
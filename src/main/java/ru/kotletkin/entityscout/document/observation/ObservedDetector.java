@@ -0,0 +1,39 @@
+package ru.kotletkin.entityscout.document.observation;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.tika.detect.Detector;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public class ObservedDetector implements Detector {
+
+    private static final String OBSERVATION_NAME = "entityscout.document.detect";
+
+    private final Detector detector;
+    private final transient ObservationRegistry observationRegistry;
+
+    public ObservedDetector(Detector detector, ObservationRegistry observationRegistry) {
+        this.detector = detector;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public MediaType detect(InputStream input, Metadata metadata) throws IOException {
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry).start();
+        MediaType mediaType = null;
+        try {
+            mediaType = detector.detect(input, metadata);
+            return mediaType;
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("content.type", mediaType == null ? "unknown" : mediaType.getBaseType().toString());
+            observation.stop();
+        }
+    }
+}
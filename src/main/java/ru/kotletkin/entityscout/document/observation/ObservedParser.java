@@ -0,0 +1,58 @@
+package ru.kotletkin.entityscout.document.observation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.TikaCoreProperties;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.parser.ParserDecorator;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+public class ObservedParser extends ParserDecorator {
+
+    private static final String OBSERVATION_NAME = "entityscout.document.parse";
+    private static final String UNKNOWN_CONTENT_TYPE = "unknown";
+
+    private final transient ObservationRegistry observationRegistry;
+    private final transient DistributionSummary embeddedDepthSummary;
+
+    public ObservedParser(Parser parser, ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        super(parser);
+        this.observationRegistry = observationRegistry;
+        this.embeddedDepthSummary = DistributionSummary.builder("entityscout.document.embedded.depth")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void parse(InputStream stream, ContentHandler handler, Metadata metadata, ParseContext context)
+            throws IOException, SAXException, TikaException {
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry).start();
+        try (Observation.Scope _ = observation.openScope()) {
+            super.parse(stream, handler, metadata, context);
+        } catch (IOException | SAXException | TikaException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            int depth = Optional.ofNullable(metadata.getInt(TikaCoreProperties.EMBEDDED_DEPTH)).orElse(0);
+            embeddedDepthSummary.record(depth);
+            observation.lowCardinalityKeyValue("content.type", contentType(metadata));
+            observation.lowCardinalityKeyValue("embedded", String.valueOf(depth > 0));
+            observation.stop();
+        }
+    }
+
+    private static String contentType(Metadata metadata) {
+        MediaType mediaType = MediaType.parse(metadata.get(Metadata.CONTENT_TYPE));
+        return mediaType == null ? UNKNOWN_CONTENT_TYPE : mediaType.getBaseType().toString();
+    }
+}
@@ -0,0 +1,106 @@
+package ru.kotletkin.entityscout.index;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.TieredMergePolicy;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.kotletkin.entityscout.config.IndexProperties;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "entityscout.index.enabled", havingValue = "true")
+public class DocumentIndex implements DisposableBean {
+
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    private final Directory directory;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("document-index").daemon().factory());
+
+    public DocumentIndex(IndexProperties indexProperties, PerFieldAnalyzerWrapper searchAnalyzer,
+                         MeterRegistry meterRegistry) throws IOException {
+        IndexProperties.MergePolicy mergePolicyProperties = indexProperties.mergePolicy();
+        TieredMergePolicy mergePolicy = new TieredMergePolicy()
+                .setSegmentsPerTier(mergePolicyProperties.segmentsPerTier())
+                .setMaxMergedSegmentMB(mergePolicyProperties.maxMergedSegmentSize().toBytes() / BYTES_PER_MB)
+                .setFloorSegmentMB(mergePolicyProperties.floorSegmentSize().toBytes() / BYTES_PER_MB)
+                .setDeletesPctAllowed(mergePolicyProperties.deletesPctAllowed());
+
+        IndexWriterConfig indexWriterConfig = new IndexWriterConfig(searchAnalyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setRAMBufferSizeMB(indexProperties.ramBufferSize().toBytes() / BYTES_PER_MB)
+                .setMergePolicy(mergePolicy)
+                .setCommitOnClose(true);
+
+        Files.createDirectories(indexProperties.directory());
+        this.directory = FSDirectory.open(indexProperties.directory());
+        this.indexWriter = new IndexWriter(directory, indexWriterConfig);
+        this.searcherManager = new SearcherManager(indexWriter, null);
+
+        long refreshMillis = indexProperties.refreshInterval().toMillis();
+        long commitMillis = indexProperties.commitInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::commit, commitMillis, commitMillis, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("entityscout.index.documents", indexWriter, IndexWriter::getPendingNumDocs)
+                .register(meterRegistry);
+        log.info("Opened document index in {} with {} documents", indexProperties.directory(), indexWriter.getPendingNumDocs());
+    }
+
+    public void add(Document document) throws IOException {
+        indexWriter.addDocument(document);
+    }
+
+    public IndexSearcher acquire() throws IOException {
+        return searcherManager.acquire();
+    }
+
+    public void release(IndexSearcher indexSearcher) throws IOException {
+        searcherManager.release(indexSearcher);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        scheduler.shutdownNow();
+        try (directory; indexWriter; searcherManager) {
+            indexWriter.commit();
+        }
+    }
+
+    private void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Failed to refresh document index searcher", e);
+        }
+    }
+
+    private void commit() {
+        try {
+            if (indexWriter.hasUncommittedChanges()) {
+                indexWriter.commit();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to commit document index", e);
+        }
+    }
+}
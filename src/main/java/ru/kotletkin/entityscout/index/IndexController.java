@@ -0,0 +1,42 @@
+package ru.kotletkin.entityscout.index;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import ru.kotletkin.entityscout.document.ExtractionExecutor;
+import ru.kotletkin.entityscout.document.dto.DocumentType;
+import ru.kotletkin.entityscout.index.dto.IndexIngestDTO;
+import ru.kotletkin.entityscout.index.dto.IndexSearchDTO;
+
+@Validated
+@RestController
+@RequestMapping("/api/index")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "entityscout.index.enabled", havingValue = "true")
+public class IndexController {
+
+    private final IndexService indexService;
+    private final ExtractionExecutor extractionExecutor;
+
+    @PostMapping(value = "/documents", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public IndexIngestDTO ingestDocuments(@RequestPart("file") MultipartFile file,
+                                          @RequestParam(value = "documentType", defaultValue = "AUTO") DocumentType documentType,
+                                          @RequestParam(value = "includeAttachments", defaultValue = "true") boolean isIncludeAttachments) {
+        return extractionExecutor.execute(() -> indexService.ingest(file, documentType, isIncludeAttachments));
+    }
+
+    @GetMapping("/search")
+    public IndexSearchDTO searchDocuments(@RequestParam("query") @NotBlank String query,
+                                          @RequestParam(value = "language", required = false) String language,
+                                          @RequestParam(value = "contentType", required = false) String contentType,
+                                          @RequestParam(value = "page", defaultValue = "0") @Min(0) int page,
+                                          @RequestParam(value = "size", defaultValue = "10") @Min(1) int size,
+                                          @RequestParam(value = "includeText", defaultValue = "false") boolean isIncludeText) {
+        return indexService.search(query, language, contentType, page, size, isIncludeText);
+    }
+}
@@ -0,0 +1,207 @@
+package ru.kotletkin.entityscout.index;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.StoredFields;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.tika.mime.MediaType;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import ru.kotletkin.entityscout.config.IndexProperties;
+import ru.kotletkin.entityscout.config.SearchProperties;
+import ru.kotletkin.entityscout.document.DocumentService;
+import ru.kotletkin.entityscout.document.dto.DocumentInfo;
+import ru.kotletkin.entityscout.document.dto.DocumentType;
+import ru.kotletkin.entityscout.document.model.ExtractionOptions;
+import ru.kotletkin.entityscout.index.dto.IndexIngestDTO;
+import ru.kotletkin.entityscout.index.dto.IndexSearchDTO;
+import ru.kotletkin.entityscout.index.dto.IndexedDocumentDTO;
+import ru.kotletkin.entityscout.search.QueryFields;
+import ru.kotletkin.entityscout.search.SearchService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "entityscout.index.enabled", havingValue = "true")
+public class IndexService implements InitializingBean {
+
+    private static final String ID_FIELD_NAME = "_id";
+    private static final String INGEST_ID_FIELD_NAME = "_ingestId";
+    private static final String RESOURCE_NAME_FIELD_NAME = "_resourceName";
+    private static final String LANGUAGE_FIELD_NAME = "_language";
+    private static final String TITLE_FIELD_NAME = "_title";
+    private static final String CONTENT_TYPE_FIELD_NAME = "_contentType";
+    private static final String MEDIA_TYPE_FIELD_NAME = "_mediaType";
+    private static final String TEXT_FIELD_NAME = "_text";
+    private static final String METADATA_FIELD_PREFIX = "_metadata.";
+
+    private final DocumentIndex documentIndex;
+    private final DocumentService documentService;
+    private final SearchService searchService;
+    private final SearchProperties searchProperties;
+    private final IndexProperties indexProperties;
+
+    @Override
+    public void afterPropertiesSet() {
+        Set<String> unknownFields = new TreeSet<>(indexProperties.fields());
+        unknownFields.removeAll(searchProperties.fields().keySet());
+        if (!unknownFields.isEmpty()) {
+            throw new IllegalStateException("Index fields are not configured as search fields: " + unknownFields);
+        }
+    }
+
+    public IndexIngestDTO ingest(MultipartFile file, DocumentType documentType, boolean isIncludeAttachments) {
+        String ingestId = UUID.randomUUID().toString();
+        AtomicInteger documentCount = new AtomicInteger();
+        documentService.streamDocumentsAuto(file, documentType, isIncludeAttachments, ExtractionOptions.ALL, documentInfo -> {
+            try {
+                documentIndex.add(toDocument(ingestId, documentInfo));
+                documentCount.incrementAndGet();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        return new IndexIngestDTO(ingestId, documentCount.get());
+    }
+
+    public IndexSearchDTO search(String queryText, String language, String contentType, int page, int size,
+                                 boolean isIncludeText) {
+        checkPage(page, size);
+        Query query = buildQuery(queryText, language, contentType);
+
+        try {
+            IndexSearcher indexSearcher = documentIndex.acquire();
+            try {
+                int numHits = (page + 1) * size;
+                TopDocs topDocs = indexSearcher.search(query, new TopScoreDocCollectorManager(numHits, Integer.MAX_VALUE));
+                StoredFields storedFields = indexSearcher.storedFields();
+
+                List<IndexedDocumentDTO> documents = new ArrayList<>();
+                for (int i = page * size; i < topDocs.scoreDocs.length; i++) {
+                    ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                    documents.add(toIndexedDocumentDTO(storedFields.document(scoreDoc.doc), scoreDoc.score, isIncludeText));
+                }
+                return new IndexSearchDTO(topDocs.totalHits.value(), page, size, documents);
+            } finally {
+                documentIndex.release(indexSearcher);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void checkPage(int page, int size) {
+        if (size > indexProperties.maxPageSize()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page size exceeds the limit of " + indexProperties.maxPageSize());
+        }
+        if ((long) (page + 1) * size > indexProperties.maxResultWindow()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Result window exceeds the limit of " + indexProperties.maxResultWindow());
+        }
+    }
+
+    private Query buildQuery(String queryText, String language, String contentType) {
+        Query query;
+        try {
+            query = searchService.parse(queryText);
+        } catch (ParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        Set<String> unindexedFields = new TreeSet<>(QueryFields.of(query));
+        unindexedFields.removeAll(indexProperties.fields());
+        if (!unindexedFields.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Fields are not indexed: " + unindexedFields);
+        }
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder().add(query, BooleanClause.Occur.MUST);
+        if (language != null) {
+            builder.add(new TermQuery(new Term(LANGUAGE_FIELD_NAME, language)), BooleanClause.Occur.FILTER);
+        }
+        if (contentType != null) {
+            builder.add(new TermQuery(new Term(MEDIA_TYPE_FIELD_NAME, toMediaType(contentType))), BooleanClause.Occur.FILTER);
+        }
+        return builder.build();
+    }
+
+    private Document toDocument(String ingestId, DocumentInfo documentInfo) {
+        Document document = new Document();
+        document.add(new StringField(ID_FIELD_NAME, UUID.randomUUID().toString(), Field.Store.YES));
+        document.add(new StringField(INGEST_ID_FIELD_NAME, ingestId, Field.Store.YES));
+        if (documentInfo.language() != null) {
+            document.add(new StringField(LANGUAGE_FIELD_NAME, documentInfo.language(), Field.Store.YES));
+        }
+        if (documentInfo.contentType() != null) {
+            document.add(new StringField(MEDIA_TYPE_FIELD_NAME, toMediaType(documentInfo.contentType()), Field.Store.NO));
+        }
+        addStoredField(document, CONTENT_TYPE_FIELD_NAME, documentInfo.contentType());
+        addStoredField(document, RESOURCE_NAME_FIELD_NAME, documentInfo.resourceName());
+        addStoredField(document, TITLE_FIELD_NAME, documentInfo.title());
+        addStoredField(document, TEXT_FIELD_NAME, documentInfo.text());
+
+        String text = documentInfo.text() == null ? "" : documentInfo.text();
+        for (String field : indexProperties.fields()) {
+            document.add(new TextField(field, text, Field.Store.NO));
+        }
+        if (documentInfo.metadata() != null) {
+            documentInfo.metadata().forEach((key, value) -> addStoredField(document, METADATA_FIELD_PREFIX + key, value));
+        }
+        return document;
+    }
+
+    private static void addStoredField(Document document, String name, String value) {
+        if (value != null) {
+            document.add(new StoredField(name, value));
+        }
+    }
+
+    private IndexedDocumentDTO toIndexedDocumentDTO(Document document, float score, boolean isIncludeText) {
+        Map<String, String> metadata = new HashMap<>();
+        for (IndexableField field : document.getFields()) {
+            if (field.name().startsWith(METADATA_FIELD_PREFIX)) {
+                metadata.put(field.name().substring(METADATA_FIELD_PREFIX.length()), field.stringValue());
+            }
+        }
+        return new IndexedDocumentDTO(document.get(ID_FIELD_NAME),
+                document.get(INGEST_ID_FIELD_NAME),
+                score,
+                document.get(RESOURCE_NAME_FIELD_NAME),
+                document.get(LANGUAGE_FIELD_NAME),
+                document.get(TITLE_FIELD_NAME),
+                document.get(CONTENT_TYPE_FIELD_NAME),
+                metadata,
+                isIncludeText ? document.get(TEXT_FIELD_NAME) : null);
+    }
+
+    private static String toMediaType(String contentType) {
+        MediaType mediaType = MediaType.parse(contentType);
+        return mediaType == null ? contentType : mediaType.getBaseType().toString();
+    }
+}
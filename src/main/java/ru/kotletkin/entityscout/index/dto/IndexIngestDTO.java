@@ -0,0 +1,4 @@
+package ru.kotletkin.entityscout.index.dto;
+
+public record IndexIngestDTO(String ingestId, int documents) {
+}
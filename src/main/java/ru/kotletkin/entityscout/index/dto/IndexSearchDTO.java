@@ -0,0 +1,6 @@
+package ru.kotletkin.entityscout.index.dto;
+
+import java.util.List;
+
+public record IndexSearchDTO(long totalHits, int page, int size, List<IndexedDocumentDTO> documents) {
+}
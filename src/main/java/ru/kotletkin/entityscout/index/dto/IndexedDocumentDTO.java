@@ -0,0 +1,16 @@
+package ru.kotletkin.entityscout.index.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+public record IndexedDocumentDTO(String id,
+                                 String ingestId,
+                                 float score,
+                                 String resourceName,
+                                 String language,
+                                 String title,
+                                 String contentType,
+                                 Map<String, String> metadata,
+                                 @JsonInclude(JsonInclude.Include.NON_NULL) String text) {
+}
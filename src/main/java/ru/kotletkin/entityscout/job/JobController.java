@@ -0,0 +1,74 @@
+package ru.kotletkin.entityscout.job;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.UriUtils;
+import ru.kotletkin.entityscout.document.dto.DocumentType;
+import ru.kotletkin.entityscout.job.dto.JobInfo;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+@Validated
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+public class JobController {
+
+    private static final String FILE_NAME_HEADER = "X-File-Name";
+
+    private final JobService jobService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<JobInfo> submitDocument(@RequestPart("file") MultipartFile file,
+                                                  @RequestParam(value = "documentType", defaultValue = "AUTO") DocumentType documentType,
+                                                  @RequestParam(value = "includeAttachments", defaultValue = "true") boolean isIncludeAttachments) {
+        return accepted(jobService.submit(file, documentType, isIncludeAttachments));
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<JobInfo> submitBody(InputStream body,
+                                              @RequestHeader(HttpHeaders.CONTENT_LENGTH) Optional<Long> contentLength,
+                                              @RequestHeader(value = FILE_NAME_HEADER, required = false) String filename,
+                                              @RequestParam(value = "documentType", defaultValue = "AUTO") DocumentType documentType,
+                                              @RequestParam(value = "includeAttachments", defaultValue = "true") boolean isIncludeAttachments) {
+        return accepted(jobService.submit(body, contentLength.orElse(-1L), decodeFilename(filename), documentType, isIncludeAttachments));
+    }
+
+    @GetMapping("/{id}")
+    public JobInfo getJob(@PathVariable("id") String id) {
+        return jobService.getJob(id);
+    }
+
+    @GetMapping(value = "/{id}/result", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Resource> getJobResult(@PathVariable("id") String id) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(new FileSystemResource(jobService.getResult(id)));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteJob(@PathVariable("id") String id) {
+        jobService.deleteJob(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static ResponseEntity<JobInfo> accepted(JobInfo jobInfo) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + jobInfo.id()))
+                .body(jobInfo);
+    }
+
+    private static String decodeFilename(String filename) {
+        return filename == null ? null : UriUtils.decode(filename, StandardCharsets.UTF_8);
+    }
+}
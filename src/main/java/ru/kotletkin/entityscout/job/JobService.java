@@ -0,0 +1,280 @@
+package ru.kotletkin.entityscout.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import ru.kotletkin.entityscout.common.util.NdjsonWriter;
+import ru.kotletkin.entityscout.config.ExtractionProperties;
+import ru.kotletkin.entityscout.config.JobProperties;
+import ru.kotletkin.entityscout.document.DocumentService;
+import ru.kotletkin.entityscout.document.ExtractionExecutor;
+import ru.kotletkin.entityscout.document.dto.DocumentType;
+import ru.kotletkin.entityscout.document.model.ExtractionOptions;
+import ru.kotletkin.entityscout.job.dto.JobInfo;
+import ru.kotletkin.entityscout.job.dto.JobStatus;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobService implements InitializingBean, DisposableBean {
+
+    private static final String FINISHED_METRIC_NAME = "entityscout.jobs.finished";
+
+    private final JobStore jobStore;
+    private final JobProperties jobProperties;
+    private final ExtractionProperties extractionProperties;
+    private final DocumentService documentService;
+    private final ExtractionExecutor extractionExecutor;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+    private final Set<String> claimedJobs = ConcurrentHashMap.newKeySet();
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("job-cleanup").daemon().factory());
+
+    @Override
+    public void afterPropertiesSet() {
+        Gauge.builder("entityscout.jobs.queued", queue, BlockingQueue::size).register(meterRegistry);
+
+        recover();
+
+        int workerCount = jobProperties.workers() > 0 ? jobProperties.workers() : Math.max(1, extractionProperties.parallelism() / 2);
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::work);
+        }
+
+        long cleanupMillis = jobProperties.cleanupInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::cleanup, cleanupMillis, cleanupMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    public JobInfo submit(MultipartFile file, DocumentType documentType, boolean isIncludeAttachments) {
+        checkQueueCapacity();
+        String id = createJob();
+        try {
+            file.transferTo(jobStore.uploadPath(id));
+        } catch (IOException e) {
+            jobStore.delete(id);
+            throw new RuntimeException(e);
+        }
+        return enqueue(newJob(id, file.getOriginalFilename(), documentType, isIncludeAttachments, file.getSize()));
+    }
+
+    public JobInfo submit(InputStream body, long contentLength, String filename, DocumentType documentType,
+                          boolean isIncludeAttachments) {
+        documentService.checkBodySize(contentLength);
+        checkQueueCapacity();
+        String id = createJob();
+        long size;
+        try {
+            size = Files.copy(body, jobStore.uploadPath(id));
+        } catch (IOException e) {
+            jobStore.delete(id);
+            throw new RuntimeException(e);
+        }
+        return enqueue(newJob(id, filename, documentType, isIncludeAttachments, size));
+    }
+
+    public JobInfo getJob(String id) {
+        return jobStore.find(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job " + id + " not found"));
+    }
+
+    public Path getResult(String id) {
+        JobInfo jobInfo = getJob(id);
+        if (jobInfo.status() != JobStatus.COMPLETED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Job " + id + " is " + jobInfo.status());
+        }
+        return jobStore.resultPath(id);
+    }
+
+    public void deleteJob(String id) {
+        if (!claimedJobs.add(id)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Job " + id + " is running");
+        }
+        try {
+            getJob(id);
+            queue.remove(id);
+            jobStore.delete(id);
+        } finally {
+            claimedJobs.remove(id);
+        }
+    }
+
+    private void checkQueueCapacity() {
+        if (queue.size() >= jobProperties.maxQueuedJobs()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Job queue is full");
+        }
+    }
+
+    private String createJob() {
+        try {
+            return jobStore.create();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private JobInfo newJob(String id, String filename, DocumentType documentType, boolean isIncludeAttachments, long size) {
+        Instant now = Instant.now();
+        return new JobInfo(id, JobStatus.QUEUED, filename, documentType, isIncludeAttachments, size, now, now, null, null);
+    }
+
+    private JobInfo enqueue(JobInfo jobInfo) {
+        jobStore.save(jobInfo);
+        queue.add(jobInfo.id());
+        return jobInfo;
+    }
+
+    private void recover() {
+        List<JobInfo> pendingJobs = new ArrayList<>();
+        for (String id : jobStore.findIds()) {
+            Optional<JobInfo> jobInfo = jobStore.find(id);
+            if (jobInfo.isEmpty()) {
+                jobStore.delete(id);
+            } else if (!jobInfo.get().status().isFinished()) {
+                pendingJobs.add(jobInfo.get().withStatus(JobStatus.QUEUED));
+            }
+        }
+        pendingJobs.sort(Comparator.comparing(JobInfo::createdAt));
+        pendingJobs.forEach(this::enqueue);
+        if (!pendingJobs.isEmpty()) {
+            log.info("Re-enqueued {} unfinished jobs from {}", pendingJobs.size(), jobProperties.directory());
+        }
+    }
+
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                String id = queue.take();
+                try (ExtractionExecutor.Permit permit = acquirePermit()) {
+                    if (claimedJobs.add(id)) {
+                        try {
+                            Optional<JobInfo> jobInfo = jobStore.find(id)
+                                    .filter(job -> job.status() == JobStatus.QUEUED);
+                            if (jobInfo.isPresent()) {
+                                process(jobInfo.get(), permit);
+                            }
+                        } finally {
+                            claimedJobs.remove(id);
+                        }
+                    }
+                }
+            } catch (InterruptedException _) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Failed to process job", e);
+            }
+        }
+    }
+
+    private void process(JobInfo jobInfo, ExtractionExecutor.Permit permit) {
+        JobInfo runningJob = jobInfo.withStatus(JobStatus.RUNNING);
+        jobStore.save(runningJob);
+
+        JobInfo finishedJob;
+        try {
+            int documentCount = permit.execute(() -> extract(runningJob), jobProperties.parseTimeout());
+            finishedJob = runningJob.completed(documentCount);
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw e;
+            }
+            log.warn("Job {} failed", jobInfo.id(), e);
+            finishedJob = runningJob.failed(e.getMessage() == null ? e.getClass().getName() : e.getMessage());
+        }
+
+        jobStore.save(finishedJob);
+        jobStore.deleteUpload(jobInfo.id());
+        Counter.builder(FINISHED_METRIC_NAME)
+                .tag("status", finishedJob.status().name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private ExtractionExecutor.Permit acquirePermit() throws InterruptedException {
+        while (true) {
+            Optional<ExtractionExecutor.Permit> permit = extractionExecutor.tryAcquire();
+            if (permit.isPresent()) {
+                return permit.get();
+            }
+            Thread.sleep(jobProperties.retryDelay());
+        }
+    }
+
+    private int extract(JobInfo jobInfo) throws IOException {
+        Path partialResultPath = jobStore.partialResultPath(jobInfo.id());
+        AtomicInteger documentCount = new AtomicInteger();
+        try (InputStream inputStream = Files.newInputStream(jobStore.uploadPath(jobInfo.id()));
+             OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(partialResultPath))) {
+            NdjsonWriter ndjsonWriter = new NdjsonWriter(outputStream, jsonMapper);
+            documentService.streamDocumentsAuto(inputStream, jobInfo.filename(), jobInfo.documentType(),
+                    jobInfo.includeAttachments(), ExtractionOptions.ALL, documentInfo -> {
+                        ndjsonWriter.write(documentInfo);
+                        documentCount.incrementAndGet();
+                    });
+        }
+        Files.move(partialResultPath, jobStore.resultPath(jobInfo.id()),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return documentCount.get();
+    }
+
+    private void cleanup() {
+        Instant expiry = Instant.now().minus(jobProperties.ttl());
+        try {
+            for (String id : jobStore.findIds()) {
+                Optional<JobInfo> jobInfo = jobStore.find(id);
+                boolean isExpired = jobInfo
+                        .map(job -> job.status().isFinished() && job.updatedAt().isBefore(expiry))
+                        .orElseGet(() -> jobStore.lastModified(id).isBefore(expiry));
+                if (isExpired && claimedJobs.add(id)) {
+                    try {
+                        jobStore.delete(id);
+                    } finally {
+                        claimedJobs.remove(id);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to clean up expired jobs", e);
+        }
+    }
+}
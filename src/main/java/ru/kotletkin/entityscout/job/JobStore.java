@@ -0,0 +1,125 @@
+package ru.kotletkin.entityscout.job;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import ru.kotletkin.entityscout.config.JobProperties;
+import ru.kotletkin.entityscout.job.dto.JobInfo;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Component
+public class JobStore {
+
+    private static final String STATE_FILE_NAME = "job.json";
+    private static final String UPLOAD_FILE_NAME = "upload";
+    private static final String RESULT_FILE_NAME = "result.ndjson";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final JsonMapper jsonMapper;
+
+    public JobStore(JobProperties jobProperties, JsonMapper jsonMapper) throws IOException {
+        this.directory = jobProperties.directory();
+        this.jsonMapper = jsonMapper;
+        Files.createDirectories(directory);
+    }
+
+    public String create() throws IOException {
+        String id = UUID.randomUUID().toString();
+        Files.createDirectory(directory.resolve(id));
+        return id;
+    }
+
+    public Path uploadPath(String id) {
+        return directory.resolve(id).resolve(UPLOAD_FILE_NAME);
+    }
+
+    public Path resultPath(String id) {
+        return directory.resolve(id).resolve(RESULT_FILE_NAME);
+    }
+
+    public Path partialResultPath(String id) {
+        return directory.resolve(id).resolve(RESULT_FILE_NAME + TEMPORARY_FILE_SUFFIX);
+    }
+
+    public void save(JobInfo jobInfo) {
+        Path statePath = directory.resolve(jobInfo.id()).resolve(STATE_FILE_NAME);
+        Path temporaryPath = statePath.resolveSibling(STATE_FILE_NAME + TEMPORARY_FILE_SUFFIX);
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(temporaryPath)) {
+                jsonMapper.writeValue(outputStream, jobInfo);
+            }
+            Files.move(temporaryPath, statePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public Optional<JobInfo> find(String id) {
+        if (!isValidId(id)) {
+            return Optional.empty();
+        }
+        Path statePath = directory.resolve(id).resolve(STATE_FILE_NAME);
+        if (!Files.isRegularFile(statePath)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(jsonMapper.readValue(Files.readAllBytes(statePath), JobInfo.class));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public List<String> findIds() {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(Files::isDirectory)
+                    .map(path -> path.getFileName().toString())
+                    .filter(JobStore::isValidId)
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public Instant lastModified(String id) {
+        try {
+            return Files.getLastModifiedTime(directory.resolve(id)).toInstant();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void deleteUpload(String id) {
+        try {
+            Files.deleteIfExists(uploadPath(id));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void delete(String id) {
+        try {
+            FileSystemUtils.deleteRecursively(directory.resolve(id));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static boolean isValidId(String id) {
+        try {
+            return UUID.fromString(id).toString().equals(id);
+        } catch (IllegalArgumentException _) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.kotletkin.entityscout.job.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import ru.kotletkin.entityscout.document.dto.DocumentType;
+
+import java.time.Instant;
+
+public record JobInfo(String id,
+                      JobStatus status,
+                      String filename,
+                      DocumentType documentType,
+                      boolean includeAttachments,
+                      long size,
+                      Instant createdAt,
+                      Instant updatedAt,
+                      @JsonInclude(JsonInclude.Include.NON_NULL) Integer documentCount,
+                      @JsonInclude(JsonInclude.Include.NON_NULL) String error) {
+
+    public JobInfo withStatus(JobStatus status) {
+        return new JobInfo(id, status, filename, documentType, includeAttachments, size, createdAt, Instant.now(),
+                documentCount, error);
+    }
+
+    public JobInfo completed(int documentCount) {
+        return new JobInfo(id, JobStatus.COMPLETED, filename, documentType, includeAttachments, size, createdAt,
+                Instant.now(), documentCount, null);
+    }
+
+    public JobInfo failed(String error) {
+        return new JobInfo(id, JobStatus.FAILED, filename, documentType, includeAttachments, size, createdAt,
+                Instant.now(), null, error);
+    }
+}
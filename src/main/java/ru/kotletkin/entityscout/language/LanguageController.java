@@ -2,12 +2,21 @@ package ru.kotletkin.entityscout.language;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.kotletkin.entityscout.common.dto.BaseRequest;
+import ru.kotletkin.entityscout.common.util.NdjsonWriter;
+import ru.kotletkin.entityscout.language.dto.LanguageBatchRequest;
 import ru.kotletkin.entityscout.language.dto.LanguageDetectionDTO;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/language")
@@ -15,8 +24,34 @@ import ru.kotletkin.entityscout.language.dto.LanguageDetectionDTO;
 public class LanguageController {
 
     private final LanguageService languageService;
+    private final JsonMapper jsonMapper;
+
     @PostMapping
-    public LanguageDetectionDTO detectLanguage(@Valid @RequestBody BaseRequest request) {
-        return languageService.detectLanguage(request.text());
+    public LanguageDetectionDTO detectLanguage(@Valid @RequestBody BaseRequest request,
+                                               @RequestParam(value = "sampled", defaultValue = "false") boolean isSampled) {
+        return isSampled
+                ? languageService.detectLanguageSampled(request.text())
+                : languageService.detectLanguage(request.text());
+    }
+
+    @PostMapping("/batch")
+    public List<LanguageDetectionDTO> detectLanguages(@Valid @RequestBody LanguageBatchRequest request,
+                                                      @RequestParam(value = "sampled", defaultValue = "false") boolean isSampled) {
+        return languageService.detectLanguages(request.texts(), isSampled);
+    }
+
+    @PostMapping(value = "/batch",
+            params = "stream=true",
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLanguages(@Valid @RequestBody LanguageBatchRequest request,
+                                                                 @RequestParam(value = "sampled", defaultValue = "false") boolean isSampled) {
+        languageService.checkBatchSize(request.texts());
+        StreamingResponseBody responseBody = outputStream -> {
+            NdjsonWriter ndjsonWriter = new NdjsonWriter(outputStream, jsonMapper);
+            languageService.detectLanguages(request.texts(), isSampled, ndjsonWriter::write);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responseBody);
     }
 }
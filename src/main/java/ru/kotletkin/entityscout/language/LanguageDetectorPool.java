@@ -0,0 +1,42 @@
+package ru.kotletkin.entityscout.language;
+
+import org.apache.tika.language.detect.LanguageDetector;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class LanguageDetectorPool {
+
+    private final BlockingQueue<LanguageDetector> detectors;
+
+    public LanguageDetectorPool(int size, Supplier<LanguageDetector> detectorFactory) throws IOException {
+        this.detectors = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            LanguageDetector languageDetector = detectorFactory.get();
+            languageDetector.loadModels();
+            detectors.add(languageDetector);
+        }
+    }
+
+    public <T> T execute(Function<LanguageDetector, T> action) {
+        LanguageDetector languageDetector = borrow();
+        try {
+            languageDetector.reset();
+            return action.apply(languageDetector);
+        } finally {
+            detectors.add(languageDetector);
+        }
+    }
+
+    private LanguageDetector borrow() {
+        try {
+            return detectors.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -1,20 +1,127 @@
 package ru.kotletkin.entityscout.language;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.apache.tika.language.detect.LanguageDetector;
 import org.apache.tika.language.detect.LanguageResult;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import ru.kotletkin.entityscout.config.LanguageProperties;
 import ru.kotletkin.entityscout.language.dto.LanguageDetectionDTO;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
 @Service
 @RequiredArgsConstructor
 public class LanguageService {
 
-    private final LanguageDetector languageDetector;
+    private static final char[] CHUNK_SEPARATOR = {' '};
+    private static final String DETECT_OBSERVATION_NAME = "entityscout.language.detect";
+
+    private final LanguageDetectorPool languageDetectorPool;
+    private final LanguageProperties languageProperties;
+    private final ObservationRegistry observationRegistry;
+
+    public LanguageDetectionDTO detectLanguage(String text) {
+        return observeDetection("full", () -> detectOnFullText(text));
+    }
+
+    public LanguageDetectionDTO detectLanguageSampled(String text) {
+        LanguageProperties.Sampling sampling = languageProperties.sampling();
+        if (text.length() <= sampling.maxSampleSize()) {
+            return detectLanguage(text);
+        }
+        return observeDetection("sampled",
+                () -> languageDetectorPool.execute(languageDetector -> detectOnSample(languageDetector, text, sampling)));
+    }
+
+    public List<LanguageDetectionDTO> detectLanguages(List<String> texts, boolean isSampled) {
+        List<LanguageDetectionDTO> results = new ArrayList<>(texts.size());
+        detectLanguages(texts, isSampled, results::add);
+        return results;
+    }
+
+    public void detectLanguages(List<String> texts, boolean isSampled, Consumer<LanguageDetectionDTO> resultConsumer) {
+        checkBatchSize(texts);
+
+        ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<LanguageDetectionDTO>> futures = new ArrayList<>(texts.size());
+            for (String text : texts) {
+                futures.add(executorService.submit(() -> isSampled ? detectLanguageSampled(text) : detectLanguage(text)));
+            }
+            for (Future<LanguageDetectionDTO> future : futures) {
+                resultConsumer.accept(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    public void checkBatchSize(List<String> texts) {
+        if (texts.size() > languageProperties.maxBatchSize()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Batch size exceeds the limit of " + languageProperties.maxBatchSize());
+        }
+    }
+
+    private LanguageDetectionDTO observeDetection(String mode, Supplier<LanguageDetectionDTO> detection) {
+        return Observation.createNotStarted(DETECT_OBSERVATION_NAME, observationRegistry)
+                .lowCardinalityKeyValue("mode", mode)
+                .observe(detection);
+    }
+
+    private LanguageDetectionDTO detectOnFullText(String text) {
+        LanguageResult result = languageDetectorPool.execute(languageDetector -> languageDetector.detect(text));
+        return toLanguageDetectionDTO(result, text.length());
+    }
+
+    private LanguageDetectionDTO detectOnSample(LanguageDetector languageDetector, String text, LanguageProperties.Sampling sampling) {
+        int chunkSize = sampling.chunkSize();
+        int chunkCount = Math.max(1, sampling.maxSampleSize() / chunkSize);
+        long stride = text.length() / chunkCount;
+        char[] chunk = new char[chunkSize];
+
+        LanguageResult result = LanguageResult.NULL;
+        int sampleSize = 0;
+        int nextCheckSize = chunkSize;
+
+        for (int i = 0; i < chunkCount; i++) {
+            int offset = (int) (i * stride);
+            int length = Math.min(chunkSize, text.length() - offset);
+            text.getChars(offset, offset + length, chunk, 0);
+            languageDetector.addText(chunk, 0, length);
+            languageDetector.addText(CHUNK_SEPARATOR, 0, CHUNK_SEPARATOR.length);
+            sampleSize += length;
+
+            boolean isLastChunk = i == chunkCount - 1;
+            if (sampleSize >= nextCheckSize || isLastChunk) {
+                result = languageDetector.detect();
+                if (!result.isUnknown() && result.getRawScore() >= sampling.confidenceThreshold()) {
+                    break;
+                }
+                nextCheckSize *= 2;
+            }
+        }
+        return toLanguageDetectionDTO(result, sampleSize);
+    }
 
-    public synchronized LanguageDetectionDTO detectLanguage(String text) {
-        LanguageResult result = languageDetector.detect(text);
+    private LanguageDetectionDTO toLanguageDetectionDTO(LanguageResult result, int sampleSize) {
         String language = !result.isUnknown() ? result.getLanguage() : "unknown";
-        return new LanguageDetectionDTO(language, result);
+        return new LanguageDetectionDTO(language, result, sampleSize, result.getRawScore());
     }
 }
@@ -0,0 +1,9 @@
+package ru.kotletkin.entityscout.language.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record LanguageBatchRequest(@NotEmpty List<@NotBlank String> texts) {
+}
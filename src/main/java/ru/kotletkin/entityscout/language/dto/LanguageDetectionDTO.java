@@ -3,5 +3,5 @@ package ru.kotletkin.entityscout.language.dto;
 
 import org.apache.tika.language.detect.LanguageResult;
 
-public record LanguageDetectionDTO(String language, LanguageResult details) {
+public record LanguageDetectionDTO(String language, LanguageResult details, int sampleSize, float confidence) {
 }
@@ -0,0 +1,60 @@
+package ru.kotletkin.entityscout.scout;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.kotletkin.entityscout.common.util.NdjsonWriter;
+import ru.kotletkin.entityscout.document.ExtractionExecutor;
+import ru.kotletkin.entityscout.document.dto.DocumentType;
+import ru.kotletkin.entityscout.scout.dto.ScoutDocumentDTO;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+@Validated
+@RestController
+@RequestMapping("/api/scout")
+@RequiredArgsConstructor
+public class ScoutController {
+
+    private static final String QUERY_PARAMETER = "query";
+
+    private final ScoutService scoutService;
+    private final ExtractionExecutor extractionExecutor;
+    private final JsonMapper jsonMapper;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public List<ScoutDocumentDTO> scoutDocuments(@RequestPart("file") MultipartFile file,
+                                                 @RequestParam MultiValueMap<String, String> parameters,
+                                                 @RequestParam(value = "documentType", defaultValue = "AUTO") DocumentType documentType,
+                                                 @RequestParam(value = "includeText", defaultValue = "false") boolean isIncludeText,
+                                                 @RequestParam(value = "highlight", defaultValue = "false") boolean isHighlight) {
+        List<String> queries = parameters.getOrDefault(QUERY_PARAMETER, List.of());
+        scoutService.checkQueries(queries);
+        return extractionExecutor.execute(() -> scoutService.scoutDocuments(file, documentType, queries, isIncludeText, isHighlight));
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            params = "stream=true",
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamScoutDocuments(@RequestPart("file") MultipartFile file,
+                                                                      @RequestParam MultiValueMap<String, String> parameters,
+                                                                      @RequestParam(value = "documentType", defaultValue = "AUTO") DocumentType documentType,
+                                                                      @RequestParam(value = "includeText", defaultValue = "false") boolean isIncludeText,
+                                                                      @RequestParam(value = "highlight", defaultValue = "false") boolean isHighlight) {
+        List<String> queries = parameters.getOrDefault(QUERY_PARAMETER, List.of());
+        scoutService.checkQueries(queries);
+        StreamingResponseBody responseBody = outputStream -> {
+            NdjsonWriter ndjsonWriter = new NdjsonWriter(outputStream, jsonMapper);
+            extractionExecutor.execute(() -> scoutService.scoutDocuments(file, documentType, queries, isIncludeText, isHighlight, ndjsonWriter::write));
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responseBody);
+    }
+}
@@ -0,0 +1,74 @@
+package ru.kotletkin.entityscout.scout;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import ru.kotletkin.entityscout.document.DocumentService;
+import ru.kotletkin.entityscout.document.dto.DocumentInfo;
+import ru.kotletkin.entityscout.document.dto.DocumentType;
+import ru.kotletkin.entityscout.document.model.ExtractionOptions;
+import ru.kotletkin.entityscout.scout.dto.ScoutDocumentDTO;
+import ru.kotletkin.entityscout.search.SearchService;
+import ru.kotletkin.entityscout.search.dto.SearchMatchDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+public class ScoutService {
+
+    private final DocumentService documentService;
+    private final SearchService searchService;
+
+    public List<ScoutDocumentDTO> scoutDocuments(MultipartFile file, DocumentType documentType, List<String> queries,
+                                                 boolean isIncludeText, boolean isHighlight) {
+        List<ScoutDocumentDTO> documents = new ArrayList<>();
+        scoutDocuments(file, documentType, queries, isIncludeText, isHighlight, documents::add);
+        return documents;
+    }
+
+    public void scoutDocuments(MultipartFile file, DocumentType documentType, List<String> queries,
+                               boolean isIncludeText, boolean isHighlight, Consumer<ScoutDocumentDTO> documentConsumer) {
+        documentService.streamDocumentsAuto(file, documentType, true, ExtractionOptions.ALL, documentInfo -> {
+            List<SearchMatchDTO> matches = match(documentInfo.text(), queries, isHighlight);
+            if (!matches.isEmpty()) {
+                documentConsumer.accept(toScoutDocumentDTO(documentInfo, matches, isIncludeText));
+            }
+        });
+    }
+
+    public void checkQueries(List<String> queries) {
+        for (String query : queries) {
+            try {
+                searchService.parse(query);
+            } catch (ParseException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+            }
+        }
+    }
+
+    private List<SearchMatchDTO> match(String text, List<String> queries, boolean isHighlight) {
+        if (text.isEmpty()) {
+            return List.of();
+        }
+        if (queries.isEmpty()) {
+            return searchService.searchByRegisteredQueries(text, isHighlight).matches();
+        }
+        return searchService.searchByQueries(text, queries, isHighlight);
+    }
+
+    private ScoutDocumentDTO toScoutDocumentDTO(DocumentInfo documentInfo, List<SearchMatchDTO> matches, boolean isIncludeText) {
+        return new ScoutDocumentDTO(documentInfo.resourceName(),
+                documentInfo.language(),
+                documentInfo.title(),
+                documentInfo.contentType(),
+                documentInfo.metadata(),
+                matches,
+                isIncludeText ? documentInfo.text() : null);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.kotletkin.entityscout.scout.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import ru.kotletkin.entityscout.search.dto.SearchMatchDTO;
+
+import java.util.List;
+import java.util.Map;
+
+public record ScoutDocumentDTO(String resourceName,
+                               String language,
+                               String title,
+                               String contentType,
+                               Map<String, String> metadata,
+                               List<SearchMatchDTO> matches,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) String text) {
+}
@@ -0,0 +1,62 @@
+package ru.kotletkin.entityscout.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.index.memory.MemoryIndex;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Matches;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Weight;
+import ru.kotletkin.entityscout.search.dto.SearchSpanDTO;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class AnalyzedText {
+
+    private final String text;
+    private final Analyzer analyzer;
+    private final Set<String> fields;
+    private final boolean isStoringOffsets;
+    private final Set<String> indexedFields = new HashSet<>();
+    private final MemoryIndex memoryIndex;
+
+    AnalyzedText(String text, Analyzer analyzer, Set<String> fields, boolean isStoringOffsets) {
+        this.text = text;
+        this.analyzer = analyzer;
+        this.fields = fields;
+        this.isStoringOffsets = isStoringOffsets;
+        this.memoryIndex = new MemoryIndex(isStoringOffsets);
+    }
+
+    public boolean isStoringOffsets() {
+        return isStoringOffsets;
+    }
+
+    public void prepare(Query query) {
+        for (String field : QueryFields.of(query)) {
+            if (fields.contains(field) && indexedFields.add(field)) {
+                memoryIndex.addField(field, text, analyzer);
+            }
+        }
+    }
+
+    public float search(Query query) {
+        prepare(query);
+        return memoryIndex.search(query);
+    }
+
+    public List<SearchSpanDTO> spans(Query query) throws IOException {
+        prepare(query);
+        IndexSearcher searcher = memoryIndex.createSearcher();
+        Weight weight = searcher.createWeight(searcher.rewrite(query), ScoreMode.COMPLETE_NO_SCORES, 1.0f);
+        Matches matches = weight.matches(searcher.getIndexReader().leaves().getFirst(), 0);
+        if (matches == null) {
+            return List.of();
+        }
+
+        return MatchSpans.of(text, matches);
+    }
+}
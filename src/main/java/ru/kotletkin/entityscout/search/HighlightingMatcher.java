@@ -0,0 +1,81 @@
+package ru.kotletkin.entityscout.search;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.monitor.CandidateMatcher;
+import org.apache.lucene.monitor.MatcherFactory;
+import org.apache.lucene.monitor.QueryMatch;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Matches;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.Weight;
+import ru.kotletkin.entityscout.search.dto.SearchSpanDTO;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class HighlightingMatcher extends CandidateMatcher<HighlightingMatcher.HighlightedMatch> {
+
+    private final String text;
+
+    private HighlightingMatcher(IndexSearcher searcher, String text) {
+        super(searcher);
+        this.text = text;
+    }
+
+    static MatcherFactory<HighlightedMatch> factory(String text) {
+        return searcher -> new HighlightingMatcher(searcher, text);
+    }
+
+    @Override
+    public void matchQuery(String queryId, Query matchQuery, Map<String, String> metadata) throws IOException {
+        Weight weight = searcher.createWeight(searcher.rewrite(matchQuery), ScoreMode.COMPLETE, 1.0f);
+        for (LeafReaderContext context : searcher.getIndexReader().leaves()) {
+            for (int doc = 0; doc < context.reader().maxDoc(); doc++) {
+                Matches matches = weight.matches(context, doc);
+                if (matches != null) {
+                    addMatch(new HighlightedMatch(queryId, score(weight, context, doc), MatchSpans.of(text, matches)), doc);
+                }
+            }
+        }
+    }
+
+    @Override
+    public HighlightedMatch resolve(HighlightedMatch match1, HighlightedMatch match2) {
+        List<SearchSpanDTO> spans = new ArrayList<>(match1.getSpans());
+        spans.addAll(match2.getSpans());
+        spans.sort(MatchSpans.ORDER);
+        return new HighlightedMatch(match1.getQueryId(), match1.getScore() + match2.getScore(), spans);
+    }
+
+    private static float score(Weight weight, LeafReaderContext context, int doc) throws IOException {
+        Scorer scorer = weight.scorer(context);
+        if (scorer == null || scorer.iterator().advance(doc) != doc) {
+            return 0.0f;
+        }
+        return scorer.score();
+    }
+
+    static class HighlightedMatch extends QueryMatch {
+
+        private final float score;
+        private final List<SearchSpanDTO> spans;
+
+        HighlightedMatch(String queryId, float score, List<SearchSpanDTO> spans) {
+            super(queryId);
+            this.score = score;
+            this.spans = spans;
+        }
+
+        float getScore() {
+            return score;
+        }
+
+        List<SearchSpanDTO> getSpans() {
+            return spans;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.kotletkin.entityscout.search;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.lucene.search.Matches;
+import org.apache.lucene.search.MatchesIterator;
+import ru.kotletkin.entityscout.search.dto.SearchSpanDTO;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class MatchSpans {
+
+    private static final int SNIPPET_CONTEXT_LENGTH = 40;
+    private static final int MAX_SPAN_LENGTH = 256;
+
+    static final Comparator<SearchSpanDTO> ORDER = Comparator.comparingInt(SearchSpanDTO::startOffset)
+            .thenComparing(SearchSpanDTO::field);
+
+    static List<SearchSpanDTO> of(String text, Matches matches) throws IOException {
+        List<SearchSpanDTO> spans = new ArrayList<>();
+        for (String field : matches) {
+            MatchesIterator matchesIterator = matches.getMatches(field);
+            if (matchesIterator == null) {
+                continue;
+            }
+            while (matchesIterator.next()) {
+                int startOffset = matchesIterator.startOffset();
+                int endOffset = matchesIterator.endOffset();
+                if (startOffset >= 0 && endOffset <= text.length()) {
+                    spans.add(toSpan(text, field, startOffset, endOffset));
+                }
+            }
+        }
+        spans.sort(ORDER);
+        return spans;
+    }
+
+    private static SearchSpanDTO toSpan(String text, String field, int startOffset, int endOffset) {
+        int termEnd = Math.min(endOffset, startOffset + MAX_SPAN_LENGTH);
+        int snippetStart = Math.max(0, startOffset - SNIPPET_CONTEXT_LENGTH);
+        int snippetEnd = Math.min(text.length(), termEnd + SNIPPET_CONTEXT_LENGTH);
+        return new SearchSpanDTO(field, startOffset, endOffset,
+                text.substring(startOffset, termEnd),
+                text.substring(snippetStart, snippetEnd));
+    }
+}
@@ -0,0 +1,74 @@
+package ru.kotletkin.entityscout.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.Query;
+import org.springframework.stereotype.Component;
+import ru.kotletkin.entityscout.config.SearchProperties;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+@Component
+public class QueryCache {
+
+    private static final String CACHE_NAME = "searchQueries";
+    private static final String PARSE_OBSERVATION_NAME = "entityscout.search.query.parse";
+
+    private final PerFieldAnalyzerWrapper searchAnalyzer;
+    private final Set<String> fields;
+    private final ObservationRegistry observationRegistry;
+    private final Cache<QueryKey, ParsedQuery> cache;
+
+    public QueryCache(PerFieldAnalyzerWrapper searchAnalyzer, SearchProperties searchProperties,
+                      MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        SearchProperties.QueryCache properties = searchProperties.queryCache();
+        this.searchAnalyzer = searchAnalyzer;
+        this.fields = searchProperties.fields().keySet();
+        this.observationRegistry = observationRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterAccess(properties.expireAfterAccess())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Query parse(String field, String queryText) throws ParseException {
+        ParsedQuery parsedQuery = cache.get(new QueryKey(field, queryText), this::parseQuery);
+        if (parsedQuery.query() == null) {
+            throw new ParseException(parsedQuery.error());
+        }
+        return parsedQuery.query();
+    }
+
+    private ParsedQuery parseQuery(QueryKey key) {
+        return Observation.createNotStarted(PARSE_OBSERVATION_NAME, observationRegistry).observe(() -> {
+            QueryParser queryParser = new QueryParser(key.field(), searchAnalyzer);
+            try {
+                Query query = queryParser.parse(key.queryText());
+                Set<String> unknownFields = new TreeSet<>(QueryFields.of(query));
+                unknownFields.removeAll(fields);
+                if (!unknownFields.isEmpty()) {
+                    return new ParsedQuery(null, "Unknown search fields: " + unknownFields);
+                }
+                return new ParsedQuery(query, null);
+            } catch (ParseException e) {
+                return new ParsedQuery(null, e.getMessage());
+            }
+        });
+    }
+
+    private record QueryKey(String field, String queryText) {
+    }
+
+    private record ParsedQuery(Query query, String error) {
+    }
+}
@@ -0,0 +1,25 @@
+package ru.kotletkin.entityscout.search;
+
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public final class QueryFields {
+
+    private QueryFields() {
+    }
+
+    public static Set<String> of(Query query) {
+        Set<String> fields = new HashSet<>();
+        query.visit(new QueryVisitor() {
+            @Override
+            public boolean acceptField(String field) {
+                fields.add(field);
+                return true;
+            }
+        });
+        return fields;
+    }
+}
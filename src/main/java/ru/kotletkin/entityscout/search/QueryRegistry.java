@@ -0,0 +1,83 @@
+package ru.kotletkin.entityscout.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.monitor.MatcherFactory;
+import org.apache.lucene.monitor.MatchingQueries;
+import org.apache.lucene.monitor.Monitor;
+import org.apache.lucene.monitor.MonitorQuery;
+import org.apache.lucene.monitor.QueryMatch;
+import org.apache.lucene.monitor.ScoringMatch;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.search.Query;
+import org.springframework.stereotype.Component;
+import ru.kotletkin.entityscout.config.SearchProperties;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryRegistry {
+
+    private final Monitor queryMonitor;
+    private final QueryCache queryCache;
+    private final SearchProperties searchProperties;
+
+    private final Map<String, RegisteredQuery> queries = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerConfiguredQueries() throws ParseException, IOException {
+        for (Map.Entry<String, String> entry : searchProperties.queries().entrySet()) {
+            register(entry.getKey(), entry.getValue());
+        }
+        log.info("Registered {} configured search queries", queries.size());
+    }
+
+    public void register(String name, String queryText) throws ParseException, IOException {
+        Query query = queryCache.parse(SearchService.CONTENT_FIELD_NAME, queryText);
+        queryMonitor.register(new MonitorQuery(name, query));
+        queries.put(name, new RegisteredQuery(queryText, QueryFields.of(query)));
+    }
+
+    public boolean remove(String name) throws IOException {
+        if (queries.remove(name) == null) {
+            return false;
+        }
+        queryMonitor.deleteById(name);
+        return true;
+    }
+
+    public Map<String, String> getQueries() {
+        Map<String, String> queryTexts = new TreeMap<>();
+        queries.forEach((name, registeredQuery) -> queryTexts.put(name, registeredQuery.queryText()));
+        return queryTexts;
+    }
+
+    public MatchingQueries<ScoringMatch> match(String text) throws IOException {
+        return match(text, ScoringMatch.DEFAULT_MATCHER);
+    }
+
+    public <T extends QueryMatch> MatchingQueries<T> match(String text, MatcherFactory<T> matcherFactory) throws IOException {
+        Set<String> fields = new HashSet<>();
+        queries.values().forEach(registeredQuery -> fields.addAll(registeredQuery.fields()));
+
+        Document document = new Document();
+        for (String field : fields) {
+            document.add(new TextField(field, text, Field.Store.NO));
+        }
+        return queryMonitor.match(document, matcherFactory);
+    }
+
+    private record RegisteredQuery(String queryText, Set<String> fields) {
+    }
+}
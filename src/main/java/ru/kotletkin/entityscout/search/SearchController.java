@@ -4,20 +4,59 @@ package ru.kotletkin.entityscout.search;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import ru.kotletkin.entityscout.common.dto.BaseRequest;
+import ru.kotletkin.entityscout.search.dto.QueryRegistrationRequest;
+import ru.kotletkin.entityscout.search.dto.SearchBatchDTO;
 import ru.kotletkin.entityscout.search.dto.SearchSingleDTO;
 
+import java.io.IOException;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/search")
 @RequiredArgsConstructor
 public class SearchController {
 
     private final SearchService searchService;
+    private final QueryRegistry queryRegistry;
 
     @PostMapping("/single")
     public SearchSingleDTO searchSingle(@Valid @RequestBody BaseRequest request,
-                                        @RequestParam("query") @NotBlank String query) {
-        return searchService.searchBySingleRequest(request.text(), query);
+                                        @RequestParam("query") @NotBlank String query,
+                                        @RequestParam(value = "highlight", defaultValue = "false") boolean isHighlight) {
+        return searchService.searchBySingleRequest(request.text(), query, isHighlight);
+    }
+
+    @PostMapping("/batch")
+    public SearchBatchDTO searchBatch(@Valid @RequestBody BaseRequest request,
+                                      @RequestParam(value = "highlight", defaultValue = "false") boolean isHighlight) {
+        return searchService.searchByRegisteredQueries(request.text(), isHighlight);
+    }
+
+    @GetMapping("/registry")
+    public Map<String, String> getRegisteredQueries() {
+        return queryRegistry.getQueries();
+    }
+
+    @PutMapping("/registry/{name}")
+    public Map<String, String> registerQuery(@PathVariable("name") String name,
+                                             @Valid @RequestBody QueryRegistrationRequest request) throws IOException {
+        try {
+            queryRegistry.register(name, request.query());
+        } catch (ParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return Map.of(name, request.query());
+    }
+
+    @DeleteMapping("/registry/{name}")
+    public void removeQuery(@PathVariable("name") String name) throws IOException {
+        if (!queryRegistry.remove(name)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Query is not registered: " + name);
+        }
     }
 }
@@ -1,38 +1,143 @@
 package ru.kotletkin.entityscout.search;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
-import org.apache.lucene.analysis.standard.StandardAnalyzer;
-import org.apache.lucene.index.memory.MemoryIndex;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.monitor.MatcherFactory;
+import org.apache.lucene.monitor.MatchingQueries;
+import org.apache.lucene.monitor.QueryMatch;
+import org.apache.lucene.monitor.ScoringMatch;
 import org.apache.lucene.queryparser.classic.ParseException;
-import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.Query;
 import org.springframework.stereotype.Service;
+import ru.kotletkin.entityscout.config.SearchProperties;
+import ru.kotletkin.entityscout.search.dto.SearchBatchDTO;
+import ru.kotletkin.entityscout.search.dto.SearchMatchDTO;
 import ru.kotletkin.entityscout.search.dto.SearchSingleDTO;
+import ru.kotletkin.entityscout.search.dto.SearchSpanDTO;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class SearchService {
 
-    private static final String CONTENT_FIELD_NAME = "content";
+    static final String CONTENT_FIELD_NAME = "content";
     private static final float NOT_FOUND_SCORE_VALUE = 0.0f;
+    private static final String INDEX_OBSERVATION_NAME = "entityscout.search.index";
+    private static final String MATCH_OBSERVATION_NAME = "entityscout.search.match";
+    private static final String HIGHLIGHT_OBSERVATION_NAME = "entityscout.search.highlight";
 
-    private final StandardAnalyzer standardAnalyzer;
+    private final PerFieldAnalyzerWrapper searchAnalyzer;
+    private final SearchProperties searchProperties;
+    private final QueryCache queryCache;
+    private final QueryRegistry queryRegistry;
+    private final ObservationRegistry observationRegistry;
 
     public SearchSingleDTO searchBySingleRequest(String text, String query) {
-        float score = findByTextInMemory(query, text);
+        return searchBySingleRequest(text, query, false);
+    }
+
+    public SearchSingleDTO searchBySingleRequest(String text, String query, boolean isHighlight) {
+        return searchByQuery(analyze(text, isHighlight), query);
+    }
+
+    public AnalyzedText analyze(String text, boolean isHighlight) {
+        return new AnalyzedText(text, searchAnalyzer, searchProperties.fields().keySet(), isHighlight);
+    }
+
+    public SearchSingleDTO searchByQuery(AnalyzedText analyzedText, String queryText) {
+        Query query = parseQuery(queryText);
+        float score = findByTextInMemory(query, analyzedText);
         boolean result = score > NOT_FOUND_SCORE_VALUE;
-        return new SearchSingleDTO(result, score);
+        List<SearchSpanDTO> spans = null;
+        if (analyzedText.isStoringOffsets()) {
+            spans = result ? findSpans(query, analyzedText) : List.of();
+        }
+        return new SearchSingleDTO(result, score, spans);
+    }
+
+    public List<SearchMatchDTO> searchByQueries(String text, List<String> queries, boolean isHighlight) {
+        AnalyzedText analyzedText = analyze(text, isHighlight);
+        List<SearchMatchDTO> matches = new ArrayList<>();
+        for (String query : queries) {
+            SearchSingleDTO searchSingleDTO = searchByQuery(analyzedText, query);
+            if (searchSingleDTO.result()) {
+                matches.add(new SearchMatchDTO(query, searchSingleDTO.score(), searchSingleDTO.spans()));
+            }
+        }
+        matches.sort(Comparator.comparing(SearchMatchDTO::score).reversed());
+        return matches;
+    }
+
+    public Query parse(String queryText) throws ParseException {
+        return queryCache.parse(CONTENT_FIELD_NAME, queryText);
+    }
+
+    public SearchBatchDTO searchByRegisteredQueries(String text) {
+        return searchByRegisteredQueries(text, false);
     }
 
-    private float findByTextInMemory(String queryText, String text) {
-        QueryParser queryParser = new QueryParser(CONTENT_FIELD_NAME, standardAnalyzer);
+    public SearchBatchDTO searchByRegisteredQueries(String text, boolean isHighlight) {
         try {
-            Query query = queryParser.parse(queryText);
-            MemoryIndex memoryIndex = new MemoryIndex();
-            memoryIndex.addField(CONTENT_FIELD_NAME, text, standardAnalyzer);
-            return memoryIndex.search(query);
+            List<SearchMatchDTO> matches;
+            int queriesRun;
+            if (isHighlight) {
+                MatchingQueries<HighlightingMatcher.HighlightedMatch> matchingQueries =
+                        matchRegisteredQueries(text, HighlightingMatcher.factory(text));
+                matches = matchingQueries.getMatches().stream()
+                        .map(match -> new SearchMatchDTO(match.getQueryId(), match.getScore(), match.getSpans()))
+                        .toList();
+                queriesRun = matchingQueries.getQueriesRun();
+            } else {
+                MatchingQueries<ScoringMatch> matchingQueries = matchRegisteredQueries(text, ScoringMatch.DEFAULT_MATCHER);
+                matches = matchingQueries.getMatches().stream()
+                        .map(match -> new SearchMatchDTO(match.getQueryId(), match.getScore(), null))
+                        .toList();
+                queriesRun = matchingQueries.getQueriesRun();
+            }
+            List<SearchMatchDTO> sortedMatches = matches.stream()
+                    .sorted(Comparator.comparing(SearchMatchDTO::score).reversed())
+                    .toList();
+            return new SearchBatchDTO(!sortedMatches.isEmpty(), sortedMatches, queriesRun);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private <T extends QueryMatch> MatchingQueries<T> matchRegisteredQueries(String text, MatcherFactory<T> matcherFactory)
+            throws IOException {
+        return Observation.createNotStarted(MATCH_OBSERVATION_NAME, observationRegistry)
+                .lowCardinalityKeyValue("mode", "registry")
+                .observeChecked(() -> queryRegistry.match(text, matcherFactory));
+    }
+
+    private Query parseQuery(String queryText) {
+        try {
+            return queryCache.parse(CONTENT_FIELD_NAME, queryText);
         } catch (ParseException e) {
             throw new RuntimeException(e);
         }
     }
+
+    private float findByTextInMemory(Query query, AnalyzedText analyzedText) {
+        Observation.createNotStarted(INDEX_OBSERVATION_NAME, observationRegistry)
+                .observe(() -> analyzedText.prepare(query));
+        return Observation.createNotStarted(MATCH_OBSERVATION_NAME, observationRegistry)
+                .lowCardinalityKeyValue("mode", "single")
+                .observe(() -> analyzedText.search(query));
+    }
+
+    private List<SearchSpanDTO> findSpans(Query query, AnalyzedText analyzedText) {
+        try {
+            return Observation.createNotStarted(HIGHLIGHT_OBSERVATION_NAME, observationRegistry)
+                    .observeChecked(() -> analyzedText.spans(query));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
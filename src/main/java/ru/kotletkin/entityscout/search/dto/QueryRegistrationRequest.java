@@ -0,0 +1,6 @@
+package ru.kotletkin.entityscout.search.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record QueryRegistrationRequest(@NotBlank String query) {
+}
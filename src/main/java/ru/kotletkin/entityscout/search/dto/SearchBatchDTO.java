@@ -0,0 +1,6 @@
+package ru.kotletkin.entityscout.search.dto;
+
+import java.util.List;
+
+public record SearchBatchDTO(boolean result, List<SearchMatchDTO> matches, int queriesRun) {
+}
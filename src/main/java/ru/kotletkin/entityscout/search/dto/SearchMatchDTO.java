@@ -0,0 +1,10 @@
+package ru.kotletkin.entityscout.search.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public record SearchMatchDTO(String name,
+                             float score,
+                             @JsonInclude(JsonInclude.Include.NON_NULL) List<SearchSpanDTO> spans) {
+}
@@ -1,4 +1,10 @@
 package ru.kotletkin.entityscout.search.dto;
 
-public record SearchSingleDTO(boolean result, float score) {
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public record SearchSingleDTO(boolean result,
+                              float score,
+                              @JsonInclude(JsonInclude.Include.NON_NULL) List<SearchSpanDTO> spans) {
 }
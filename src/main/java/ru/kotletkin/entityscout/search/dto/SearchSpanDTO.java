@@ -0,0 +1,4 @@
+package ru.kotletkin.entityscout.search.dto;
+
+public record SearchSpanDTO(String field, int startOffset, int endOffset, String term, String snippet) {
+}
@@ -0,0 +1,151 @@
+package ru.kotletkin.entityscout.warmup;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class WarmupCorpus {
+
+    private static final String CRLF = "\r\n";
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>";
+    private static final String ENGLISH_TEXT = "Please join the quarterly budget review tomorrow. "
+            + "The agenda and the project schedule are attached to this invite.";
+    private static final String RUSSIAN_TEXT = "Пожалуйста, подключайтесь завтра к встрече по проекту. "
+            + "Повестка и расписание приложены к письму.";
+    private static final List<String> CONFERENCE_URLS = List.of(
+            "https://us04web.zoom.us/j/74102938475",
+            "https://teams.microsoft.com/l/meetup-join/19%3ameeting_abc",
+            "https://meet.google.com/abc-defg-hij");
+
+    public static List<Sample> samples(int iteration) throws IOException {
+        String text = text(iteration);
+        byte[] pdf = pdf(text);
+        byte[] docx = docx(text);
+        byte[] rfc822 = rfc822(iteration, text, pdf, docx);
+        return List.of(new Sample("report.pdf", pdf),
+                new Sample("notes.docx", docx),
+                new Sample("message.eml", rfc822));
+    }
+
+    private static String text(int iteration) {
+        return ENGLISH_TEXT + "\n" + RUSSIAN_TEXT + "\n"
+                + CONFERENCE_URLS.get(iteration % CONFERENCE_URLS.size()) + "\n"
+                + "Reference " + iteration;
+    }
+
+    private static byte[] pdf(String text) {
+        StringBuilder content = new StringBuilder("BT /F1 10 Tf 14 TL 50 750 Td");
+        for (String line : text.split("\n")) {
+            if (StandardCharsets.ISO_8859_1.newEncoder().canEncode(line)) {
+                content.append(" (").append(line.replace("\\", "\\\\").replace("(", "\\(").replace(")", "\\)"))
+                        .append(") Tj T*");
+            }
+        }
+        content.append(" ET");
+        byte[] stream = content.toString().getBytes(StandardCharsets.ISO_8859_1);
+
+        List<String> objects = List.of(
+                "<< /Type /Catalog /Pages 2 0 R >>",
+                "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+                "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] /Resources << /Font << /F1 4 0 R >> >> /Contents 5 0 R >>",
+                "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>",
+                "<< /Length " + stream.length + " >>\nstream\n" + new String(stream, StandardCharsets.ISO_8859_1) + "\nendstream");
+
+        StringBuilder pdf = new StringBuilder("%PDF-1.4\n");
+        List<Integer> offsets = new ArrayList<>();
+        for (int i = 0; i < objects.size(); i++) {
+            offsets.add(pdf.length());
+            pdf.append(i + 1).append(" 0 obj\n").append(objects.get(i)).append("\nendobj\n");
+        }
+        int xrefOffset = pdf.length();
+        pdf.append("xref\n0 ").append(objects.size() + 1).append("\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            pdf.append(String.format("%010d 00000 n \n", offset));
+        }
+        pdf.append("trailer\n<< /Size ").append(objects.size() + 1).append(" /Root 1 0 R >>\n")
+                .append("startxref\n").append(xrefOffset).append("\n%%EOF\n");
+        return pdf.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] docx(String text) throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (String line : text.split("\n")) {
+            body.append("<w:p><w:r><w:t>").append(escapeXml(line)).append("</w:t></w:r></w:p>");
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            writeEntry(zipOutputStream, "[Content_Types].xml", XML_DECLARATION
+                    + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                    + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                    + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                    + "<Override PartName=\"/word/document.xml\" "
+                    + "ContentType=\"application/vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml\"/>"
+                    + "</Types>");
+            writeEntry(zipOutputStream, "_rels/.rels", XML_DECLARATION
+                    + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                    + "<Relationship Id=\"rId1\" "
+                    + "Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" "
+                    + "Target=\"word/document.xml\"/>"
+                    + "</Relationships>");
+            writeEntry(zipOutputStream, "word/document.xml", XML_DECLARATION
+                    + "<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\">"
+                    + "<w:body>" + body + "</w:body></w:document>");
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static void writeEntry(ZipOutputStream zipOutputStream, String name, String content) throws IOException {
+        zipOutputStream.putNextEntry(new ZipEntry(name));
+        zipOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        zipOutputStream.closeEntry();
+    }
+
+    private static String escapeXml(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static byte[] rfc822(int iteration, String text, byte[] pdf, byte[] docx) {
+        String boundary = "warmup-" + iteration;
+        String message = "From: Entity Scout <scout@example.com>" + CRLF
+                + "To: Team <team@example.com>" + CRLF
+                + "Subject: Quarterly report" + CRLF
+                + "Message-ID: <" + boundary + "@example.com>" + CRLF
+                + "MIME-Version: 1.0" + CRLF
+                + "Content-Type: multipart/mixed; boundary=\"" + boundary + "\"" + CRLF
+                + CRLF
+                + part(boundary, "text/plain; charset=UTF-8", null, "8bit", text.replace("\n", CRLF))
+                + part(boundary, "text/html; charset=UTF-8", null, "8bit",
+                "<html><body><p>" + text.replace("\n", "</p><p>") + "</p></body></html>")
+                + part(boundary, "application/pdf", "report.pdf", "base64", Base64.getMimeEncoder().encodeToString(pdf))
+                + part(boundary, "application/vnd.openxmlformats-officedocument.wordprocessingml.document", "notes.docx",
+                "base64", Base64.getMimeEncoder().encodeToString(docx))
+                + "--" + boundary + "--" + CRLF;
+        return message.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String part(String boundary, String contentType, String filename, String encoding, String body) {
+        StringBuilder builder = new StringBuilder()
+                .append("--").append(boundary).append(CRLF)
+                .append("Content-Type: ").append(contentType).append(CRLF);
+        if (filename != null) {
+            builder.append("Content-Disposition: attachment; filename=\"").append(filename).append('"').append(CRLF);
+        }
+        return builder.append("Content-Transfer-Encoding: ").append(encoding).append(CRLF)
+                .append(CRLF)
+                .append(body).append(CRLF)
+                .toString();
+    }
+
+    public record Sample(String filename, byte[] content) {
+    }
+}
@@ -0,0 +1,93 @@
+package ru.kotletkin.entityscout.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+import ru.kotletkin.entityscout.config.WarmupProperties;
+import ru.kotletkin.entityscout.document.DocumentService;
+import ru.kotletkin.entityscout.document.dto.DocumentInfo;
+import ru.kotletkin.entityscout.document.dto.DocumentType;
+import ru.kotletkin.entityscout.document.model.ExtractionOptions;
+import ru.kotletkin.entityscout.language.LanguageService;
+import ru.kotletkin.entityscout.search.SearchService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final String WARMUP_QUERY = "meeting OR agenda OR встреча";
+
+    private final WarmupProperties warmupProperties;
+    private final DocumentService documentService;
+    private final LanguageService languageService;
+    private final SearchService searchService;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!warmupProperties.enabled()) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        long firstIterationNanos = 0;
+        long lastIterationNanos = 0;
+        for (int iteration = 0; iteration < warmupProperties.iterations(); iteration++) {
+            long iterationStartTime = System.nanoTime();
+            try {
+                runIteration(iteration);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Warm-up iteration {} failed", iteration, e);
+            }
+            lastIterationNanos = System.nanoTime() - iterationStartTime;
+            if (iteration == 0) {
+                firstIterationNanos = lastIterationNanos;
+            }
+        }
+        long warmupNanos = System.nanoTime() - startTime;
+
+        registerTimeGauge("entityscout.warmup.duration", warmupNanos);
+        registerTimeGauge("entityscout.warmup.iteration.first", firstIterationNanos);
+        registerTimeGauge("entityscout.warmup.iteration.last", lastIterationNanos);
+        log.info("Warm-up finished in {} ms ({} iterations, first {} ms, last {} ms), ready {} ms after JVM start",
+                TimeUnit.NANOSECONDS.toMillis(warmupNanos),
+                warmupProperties.iterations(),
+                TimeUnit.NANOSECONDS.toMillis(firstIterationNanos),
+                TimeUnit.NANOSECONDS.toMillis(lastIterationNanos),
+                ManagementFactory.getRuntimeMXBean().getUptime());
+
+        if (warmupProperties.exit()) {
+            log.info("Exiting after warm-up");
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+
+    private void runIteration(int iteration) throws IOException {
+        boolean isHighlight = iteration % 2 == 1;
+        for (WarmupCorpus.Sample sample : WarmupCorpus.samples(iteration)) {
+            for (DocumentInfo documentInfo : documentService.extractDocumentsAuto(new ByteArrayInputStream(sample.content()),
+                    sample.filename(), DocumentType.AUTO, true, ExtractionOptions.ALL)) {
+                languageService.detectLanguage(documentInfo.text());
+                searchService.searchBySingleRequest(documentInfo.text(), WARMUP_QUERY, isHighlight);
+                searchService.searchByRegisteredQueries(documentInfo.text(), isHighlight);
+            }
+        }
+    }
+
+    private void registerTimeGauge(String name, long nanos) {
+        TimeGauge.builder(name, () -> nanos, TimeUnit.NANOSECONDS).register(meterRegistry);
+    }
+}
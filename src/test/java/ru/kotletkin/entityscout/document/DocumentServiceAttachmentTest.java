@@ -0,0 +1,165 @@
+package ru.kotletkin.entityscout.document;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import ru.kotletkin.entityscout.config.ExtractionProperties;
+import ru.kotletkin.entityscout.document.dto.DocumentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "entityscout.warmup.enabled=false",
+        "entityscout.extraction.attachments.memory-threshold=64KB",
+        "entityscout.extraction.attachments.directory=${java.io.tmpdir}/entityscout-test/attachments"
+})
+class DocumentServiceAttachmentTest {
+
+    private static final int CONCURRENT_REQUESTS = 16;
+    private static final int MAXIMUM_DEPTH = 10;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private ExtractionProperties extractionProperties;
+
+    @Test
+    void extractAttachmentOnZipProducesCompleteArchivesConcurrently() throws Exception {
+        long memoryThreshold = extractionProperties.attachments().memoryThreshold().toBytes();
+
+        byte[] note = text("note");
+        byte[] duplicateNote = text("duplicate note");
+        byte[] innerNote = text("inner note");
+        byte[] readme = text("readme");
+        byte[] payload = new byte[(int) memoryThreshold * 2];
+        new Random(42).nextBytes(payload);
+
+        byte[] nestedMessage = message("Nested", List.of(Map.entry("inner.txt", innerNote)));
+        byte[] archive = zip(Map.of("payload.bin", payload, "readme.txt", readme));
+
+        byte[] outerMessage = message("Outer", List.of(
+                Map.entry("note.txt", note),
+                Map.entry("nested.eml", nestedMessage),
+                Map.entry("archive.zip", archive),
+                Map.entry("note.txt", duplicateNote)));
+
+        Map<String, byte[]> expected = new LinkedHashMap<>();
+        expected.put("note.txt", note);
+        expected.put("nested.eml", nestedMessage);
+        expected.put("nested.eml.attachments/inner.txt", innerNote);
+        expected.put("archive.zip", archive);
+        expected.put("archive.zip.attachments/payload.bin", payload);
+        expected.put("archive.zip.attachments/readme.txt", readme);
+        expected.put("note (2).txt", duplicateNote);
+
+        assertThat((long) nestedMessage.length).isLessThan(memoryThreshold);
+        assertThat((long) archive.length).isGreaterThan(memoryThreshold);
+
+        List<Future<Map<String, byte[]>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                futures.add(executor.submit(() -> extract(outerMessage)));
+            }
+        }
+
+        for (Future<Map<String, byte[]>> future : futures) {
+            Map<String, byte[]> entries = future.get();
+            assertThat(entries.keySet()).containsExactlyInAnyOrderElementsOf(expected.keySet());
+            expected.forEach((name, content) -> assertThat(entries.get(name)).as(name).isEqualTo(content));
+        }
+
+        Path directory = extractionProperties.attachments().directory();
+        if (Files.exists(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                assertThat(files).isEmpty();
+            }
+        }
+    }
+
+    private Map<String, byte[]> extract(byte[] content) throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "outer.eml", "message/rfc822", content);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        documentService.extractAttachmentOnZip(file, DocumentType.AUTO, MAXIMUM_DEPTH, outputStream);
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                entries.put(entry.getName(), zipInputStream.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    private static byte[] text(String value) {
+        return (value + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] message(String subject, List<Map.Entry<String, byte[]>> attachments) {
+        String boundary = "boundary-" + subject;
+        StringBuilder builder = new StringBuilder()
+                .append("From: sender@example.com\r\n")
+                .append("To: recipient@example.com\r\n")
+                .append("Subject: ").append(subject).append("\r\n")
+                .append("Date: Mon, 1 Jan 2024 00:00:00 +0000\r\n")
+                .append("MIME-Version: 1.0\r\n")
+                .append("Content-Type: multipart/mixed; boundary=\"").append(boundary).append("\"\r\n")
+                .append("\r\n");
+
+        for (Map.Entry<String, byte[]> part : attachments) {
+            builder.append("--").append(boundary).append("\r\n")
+                    .append("Content-Type: application/octet-stream; name=\"").append(part.getKey()).append("\"\r\n")
+                    .append("Content-Disposition: attachment; filename=\"").append(part.getKey()).append("\"\r\n")
+                    .append("Content-Transfer-Encoding: base64\r\n")
+                    .append("\r\n")
+                    .append(Base64.getMimeEncoder().encodeToString(part.getValue())).append("\r\n");
+        }
+        builder.append("--").append(boundary).append("--\r\n");
+        return builder.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] zip(Map<String, byte[]> entries) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            for (Map.Entry<String, byte[]> entry : new TreeMap<>(entries).entrySet()) {
+                CRC32 crc = new CRC32();
+                crc.update(entry.getValue());
+                ZipEntry zipEntry = new ZipEntry(entry.getKey());
+                zipEntry.setMethod(ZipEntry.STORED);
+                zipEntry.setSize(entry.getValue().length);
+                zipEntry.setCrc(crc.getValue());
+                zipOutputStream.putNextEntry(zipEntry);
+                zipOutputStream.write(entry.getValue());
+                zipOutputStream.closeEntry();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+}
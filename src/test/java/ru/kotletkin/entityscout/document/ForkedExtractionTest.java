@@ -0,0 +1,53 @@
+package ru.kotletkin.entityscout.document;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.kotletkin.entityscout.document.dto.DocumentInfo;
+import ru.kotletkin.entityscout.document.dto.DocumentType;
+import ru.kotletkin.entityscout.document.model.ExtractionOptions;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "entityscout.warmup.enabled=false",
+        "entityscout.tika.fork.enabled=true",
+        "entityscout.tika.fork.pool-size=1",
+        "entityscout.tika.fork.prewarm=false"
+})
+class ForkedExtractionTest {
+
+    private static final String TEXT = "Forked extraction sample";
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Test
+    void extractsWithDefaultOptions() {
+        DocumentInfo documentInfo = extract(ExtractionOptions.ALL);
+
+        assertThat(documentInfo.contentType()).startsWith("text/plain");
+        assertThat(documentInfo.text()).contains(TEXT);
+    }
+
+    @Test
+    void extractsWithProjectionAndTextLimit() {
+        DocumentInfo documentInfo = extract(ExtractionOptions.of(List.of("contentType", "text"), null, 8));
+
+        assertThat(documentInfo.contentType()).startsWith("text/plain");
+        assertThat(documentInfo.text().trim()).isEqualTo(TEXT.substring(0, 8));
+        assertThat(documentInfo.resourceName()).isNull();
+    }
+
+    private DocumentInfo extract(ExtractionOptions options) {
+        List<DocumentInfo> documentInfos = documentService.extractDocumentsAuto(
+                new ByteArrayInputStream((TEXT + "\n").getBytes(StandardCharsets.UTF_8)),
+                "document.txt", DocumentType.AUTO, false, options);
+        assertThat(documentInfos).hasSize(1);
+        return documentInfos.getFirst();
+    }
+}
@@ -0,0 +1,91 @@
+package ru.kotletkin.entityscout.document.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.kotletkin.entityscout.document.DocumentService;
+import ru.kotletkin.entityscout.document.dto.DocumentInfo;
+import ru.kotletkin.entityscout.document.dto.DocumentType;
+import ru.kotletkin.entityscout.document.model.ExtractionOptions;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "entityscout.warmup.enabled=false",
+        "entityscout.extraction.cache.enabled=true"
+})
+class CachingParserTest {
+
+    private static final String CACHE_NAME = "extractionDocuments";
+    private static final ExtractionOptions CONTENT_TYPE_ONLY = ExtractionOptions.of(List.of("contentType"), null, -1);
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void metadataOnlyExtractionDoesNotCacheEmptyText() {
+        byte[] content = uniqueContent();
+
+        double hits = cacheGets("hit");
+        DocumentInfo metadataOnly = extract(content, CONTENT_TYPE_ONLY);
+        DocumentInfo full = extract(content, ExtractionOptions.ALL);
+
+        assertThat(cacheGets("hit")).isEqualTo(hits);
+        assertThat(metadataOnly.contentType()).startsWith("text/plain");
+        assertThat(metadataOnly.text()).isNull();
+        assertThat(full.text()).contains(new String(content, StandardCharsets.UTF_8).trim());
+    }
+
+    @Test
+    void metadataOnlyExtractionReusesCachedFullExtraction() {
+        byte[] content = uniqueContent();
+
+        DocumentInfo full = extract(content, ExtractionOptions.ALL);
+        double hits = cacheGets("hit");
+        DocumentInfo metadataOnly = extract(content, CONTENT_TYPE_ONLY);
+
+        assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+        assertThat(metadataOnly.contentType()).isEqualTo(full.contentType());
+        assertThat(metadataOnly.text()).isNull();
+    }
+
+    @Test
+    void limitedExtractionDoesNotTruncateFullExtraction() {
+        byte[] content = uniqueContent();
+        String text = new String(content, StandardCharsets.UTF_8).trim();
+
+        DocumentInfo limited = extract(content, ExtractionOptions.of(null, null, 8));
+        DocumentInfo full = extract(content, ExtractionOptions.ALL);
+
+        assertThat(limited.text().trim()).hasSizeLessThanOrEqualTo(8);
+        assertThat(full.text()).contains(text);
+    }
+
+    private DocumentInfo extract(byte[] content, ExtractionOptions options) {
+        List<DocumentInfo> documentInfos = documentService.extractDocumentsAuto(new ByteArrayInputStream(content),
+                "document.txt", DocumentType.AUTO, false, options);
+        assertThat(documentInfos).hasSize(1);
+        return documentInfos.getFirst();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private static byte[] uniqueContent() {
+        return ("Cached extraction sample " + UUID.randomUUID() + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+}
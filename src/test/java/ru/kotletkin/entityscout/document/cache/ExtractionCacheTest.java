@@ -0,0 +1,47 @@
+package ru.kotletkin.entityscout.document.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import ru.kotletkin.entityscout.config.ExtractionProperties;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExtractionCacheTest {
+
+    private static final String KEY = "a".repeat(64);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void startupKeepsUnrelatedFilesInDiskDirectory() throws IOException {
+        Path unrelatedFile = Files.writeString(directory.resolve("notes.txt"), "keep");
+        Path unrelatedTemporaryFile = Files.writeString(directory.resolve("upload.tmp"), "keep");
+        Path subdirectory = Files.createDirectories(directory.resolve("data"));
+        Files.writeString(subdirectory.resolve("file.txt"), "keep");
+        Path leftover = Files.writeString(directory.resolve(KEY + "123456789.tmp"), "partial");
+
+        ExtractionCache extractionCache = new ExtractionCache(properties(), new SimpleMeterRegistry());
+
+        assertThat(extractionCache.isEnabled()).isTrue();
+        assertThat(unrelatedFile).exists();
+        assertThat(unrelatedTemporaryFile).exists();
+        assertThat(subdirectory.resolve("file.txt")).exists();
+        assertThat(leftover).doesNotExist();
+    }
+
+    private ExtractionProperties properties() {
+        ExtractionProperties.Disk disk = new ExtractionProperties.Disk(true, directory, DataSize.ofMegabytes(16));
+        return new ExtractionProperties(1, 1, Duration.ofSeconds(1), Duration.ofSeconds(1), DataSize.ofMegabytes(1),
+                new ExtractionProperties.Embedded(false, 1),
+                new ExtractionProperties.Attachments(DataSize.ofMegabytes(1), directory),
+                new ExtractionProperties.Cache(true, DataSize.ofMegabytes(16), disk));
+    }
+}